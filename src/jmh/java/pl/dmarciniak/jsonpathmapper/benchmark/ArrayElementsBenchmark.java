@@ -0,0 +1,87 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.dmarciniak.jsonpathmapper.JsonArrayMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Mapping of big json array: whole array mapped as list field vs elements mapped one by one
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class ArrayElementsBenchmark {
+
+    @Param({"1000", "100000"})
+    private int elementsAmount;
+
+    private byte[] json;
+
+    private JsonPathMapper<List<Map<String, Object>>> listMapper;
+
+    private JsonArrayMapper<Customer> arrayMapper;
+
+    @Setup
+    public void before() {
+        json = IntStream.range(0, elementsAmount)
+                .mapToObj(i -> "{\"name\": \"Jan" + i + "\", \"surname\": \"Kowalski\", \"age\": " + (i % 100) + "}")
+                .collect(Collectors.joining(",", "{\"items\": [", "]}"))
+                .getBytes(StandardCharsets.UTF_8);
+
+        listMapper = JsonPathMapper.forClass(Holder.class)
+                .initialize(Holder::new)
+                .mapField("$.items[*]", Holder::setItems)
+                .buildWithResultMapper(Holder::getItems);
+
+        arrayMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.name", Customer::setName)
+                .mapField("$.surname", Customer::setSurname)
+                .mapField("$.age", Customer::setAge)
+                .build()
+                .forArray("$.items");
+
+        assertThat(listMapper.map(json)).hasSize(elementsAmount);
+    }
+
+    @Benchmark
+    public void wholeArrayMap(Blackhole blackhole) {
+        for (Map<String, Object> item : listMapper.map(json)) {
+            Customer customer = new Customer();
+            customer.setName((String) item.get("name"));
+            customer.setSurname((String) item.get("surname"));
+            customer.setAge((Integer) item.get("age"));
+            blackhole.consume(customer);
+        }
+    }
+
+    @Benchmark
+    public void elementsMap(Blackhole blackhole) {
+        arrayMapper.forEach(new ByteArrayInputStream(json), blackhole::consume);
+    }
+
+    public static class Holder {
+        private List<Map<String, Object>> items;
+
+        public List<Map<String, Object>> getItems() {
+            return items;
+        }
+
+        public void setItems(List<Map<String, Object>> items) {
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class AsyncMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int valuesAmount;
+
+    @Param({"1"})
+    private int fieldMappingTimeMs;
+
+    private String json;
+
+    private ScheduledExecutorService scheduler;
+
+    private JsonPathMapper<Integer> blockingMapper;
+
+    private JsonPathMapper<Integer> asyncMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/big.json");
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        Function<Integer, Integer> blockingLookupEmulator = (i) -> {
+            try {
+                Thread.sleep(fieldMappingTimeMs);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return i;
+        };
+
+        Function<Integer, CompletionStage<Integer>> asyncLookupEmulator = (i) -> {
+            CompletableFuture<Integer> result = new CompletableFuture<>();
+            scheduler.schedule(() -> result.complete(i), fieldMappingTimeMs, TimeUnit.MILLISECONDS);
+            return result;
+        };
+
+        JsonPathMapperBuilder<AtomicInteger> blockingBuilder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        JsonPathMapperBuilder<AtomicInteger> asyncBuilder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        for (int i = 1; i <= valuesAmount; ++i) {
+            blockingBuilder.mapField(FieldMapper.fromPath("$.test.i" + i, Integer.class).toGetterField(AtomicInteger::addAndGet).withMapper(blockingLookupEmulator));
+            asyncBuilder.mapField(FieldMapper.fromPath("$.test.i" + i, Integer.class).toGetterField(AtomicInteger::addAndGet).withAsyncMapper(asyncLookupEmulator));
+        }
+        blockingMapper = blockingBuilder.buildWithResultMapper(AtomicInteger::get);
+        asyncMapper = asyncBuilder.buildWithResultMapper(AtomicInteger::get);
+
+        assertThat(parallelMap()).isEqualTo(((1 + valuesAmount) * valuesAmount) / 2);
+        assertThat(asyncMap()).isEqualTo(((1 + valuesAmount) * valuesAmount) / 2);
+    }
+
+    @TearDown
+    public void after() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public Integer parallelMap() {
+        return blockingMapper.parallelMap(json);
+    }
+
+    @Benchmark
+    public Integer asyncMap() {
+        return asyncMapper.mapAsync(json).join();
+    }
+}
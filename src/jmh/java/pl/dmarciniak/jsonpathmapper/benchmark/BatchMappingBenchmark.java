@@ -0,0 +1,86 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.MappingResult;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class BatchMappingBenchmark {
+
+    @Param({"1000", "10000"})
+    private int documentsAmount;
+
+    private List<String> jsons;
+
+    private JsonPathMapper<Customer> orderedMapper;
+
+    private JsonPathMapper<Customer> unorderedMapper;
+
+    @Setup
+    public void before() {
+        String json = JmhResourceLoader.load("json/customer.json");
+        jsons = IntStream.range(0, documentsAmount)
+                .mapToObj(i -> json.replace("\"Jan\"", "\"Jan" + i + "\""))
+                .collect(Collectors.toList());
+
+        orderedMapper = customerMapper().build();
+        unorderedMapper = customerMapper().unorderedBatch().build();
+
+        List<MappingResult<Customer>> orderedResults = orderedMapper.mapAll(jsons);
+        assertThat(orderedResults).hasSize(documentsAmount);
+        assertThat(orderedResults.stream().allMatch(MappingResult::isSuccess)).isTrue();
+        List<MappingResult<Customer>> unorderedResults = unorderedMapper.mapAll(jsons);
+        assertThat(unorderedResults).hasSize(documentsAmount);
+        assertThat(unorderedResults.stream().allMatch(MappingResult::isSuccess)).isTrue();
+    }
+
+    private JsonPathMapperBuilder<Customer> customerMapper() {
+        return JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.customer.name", Customer::setName)
+                .mapField("$.customer.surname", Customer::setSurname)
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Customer::setAge))
+                .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField("$.customer.phones[*].number", Customer::setPhones);
+    }
+
+    @Benchmark
+    public void sequentialMap(Blackhole blackhole) {
+        for (String json : jsons) {
+            blackhole.consume(orderedMapper.map(json));
+        }
+    }
+
+    @Benchmark
+    public void orderedMapAll(Blackhole blackhole) {
+        Iterator<MappingResult<Customer>> results = orderedMapper.mapAll(jsons.iterator());
+        while (results.hasNext()) {
+            blackhole.consume(results.next());
+        }
+    }
+
+    @Benchmark
+    public void unorderedMapAll(Blackhole blackhole) {
+        Iterator<MappingResult<Customer>> results = unorderedMapper.mapAll(jsons.iterator());
+        while (results.hasNext()) {
+            blackhole.consume(results.next());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class CompiledPathBenchmark {
+
+    @Param({"5", "10", "50", "100", "500", "1000"})
+    private int valuesAmount;
+
+    private String json;
+
+    private DocumentContext document;
+
+    private String[] paths;
+
+    private JsonPath[] compiledPaths;
+
+    private JsonPathMapper<Integer> mapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/big.json");
+        document = JsonPath.parse(json);
+
+        paths = new String[valuesAmount];
+        compiledPaths = new JsonPath[valuesAmount];
+        JsonPathMapperBuilder<AtomicInteger> builder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        for (int i = 1; i <= valuesAmount; ++i) {
+            paths[i - 1] = "$.test.i" + i;
+            compiledPaths[i - 1] = JsonPath.compile(paths[i - 1]);
+            builder.mapField(FieldMapper.fromPath(paths[i - 1], Integer.class).toGetterField(AtomicInteger::addAndGet));
+        }
+        mapper = builder.buildWithResultMapper(AtomicInteger::get);
+
+        assertThat(stringPathRead()).isEqualTo(((1 + valuesAmount) * valuesAmount) / 2);
+        assertThat(compiledPathRead()).isEqualTo(((1 + valuesAmount) * valuesAmount) / 2);
+        assertThat(mapper.map(json)).isEqualTo(((1 + valuesAmount) * valuesAmount) / 2);
+    }
+
+    @Benchmark
+    public Integer stringPathRead() {
+        int sum = 0;
+        for (String path : paths) {
+            sum += document.<Integer>read(path);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Integer compiledPathRead() {
+        int sum = 0;
+        for (JsonPath path : compiledPaths) {
+            sum += document.<Integer>read(path);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Integer mapperMap() {
+        return mapper.map(json);
+    }
+}
@@ -0,0 +1,62 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Order;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Few definite fields from generated documents from 1 KB to 10 MB (array of items fills the document)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class DocumentSizeBenchmark {
+
+    private static final int DEPTH = 5;
+
+    @Param({"1KB", "100KB", "1MB", "10MB"})
+    private String size;
+
+    private String json;
+
+    private JsonPathMapper<Order> mapper;
+
+    @Setup
+    public void before() {
+        json = JsonDocumentGenerator.document().size(size).depth(DEPTH).generate();
+
+        mapper = JsonPathMapper.forClass(Order.class)
+                .initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toGetterField(Order::setId))
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toGetterField(Order::setCustomerName))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Order::setCustomerAge))
+                .mapField(FieldMapper.fromPath(JsonDocumentGenerator.deepPath(DEPTH), Integer.class).toGetterField(Order::setDeepValue))
+                .build();
+
+        assertThat(map().getDeepValue()).isEqualTo(DEPTH);
+        assertThat(mapStreaming().getDeepValue()).isEqualTo(DEPTH);
+        assertThat(mapLazy().getDeepValue()).isEqualTo(DEPTH);
+    }
+
+    @Benchmark
+    public Order map() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    public Order mapStreaming() {
+        return mapper.mapStreaming(json);
+    }
+
+    @Benchmark
+    public Order mapLazy() {
+        return mapper.mapLazy(json);
+    }
+}
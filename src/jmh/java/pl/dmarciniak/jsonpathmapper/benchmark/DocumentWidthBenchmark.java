@@ -0,0 +1,56 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Narrow vs wide documents, all attributes are mapped as optional fields and only every n-th of them exists
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class DocumentWidthBenchmark {
+
+    @Param({"10", "1000"})
+    private int attributes;
+
+    @Param({"1", "10"})
+    private int presentEvery;
+
+    private String json;
+
+    private JsonPathMapper<Integer> mapper;
+
+    @Setup
+    public void before() {
+        json = JsonDocumentGenerator.document().attributes(attributes).presentEvery(presentEvery).generate();
+
+        JsonPathMapperBuilder<AtomicInteger> builder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        for (int i = 0; i < attributes; ++i) {
+            builder.mapOptionalField(JsonDocumentGenerator.attributePath(i), (AtomicInteger counter, String value) -> counter.incrementAndGet());
+        }
+        mapper = builder.buildWithResultMapper(AtomicInteger::get);
+
+        int presentAttributes = (attributes + presentEvery - 1) / presentEvery;
+        assertThat(map()).isEqualTo(presentAttributes);
+        assertThat(mapLazy()).isEqualTo(presentAttributes);
+    }
+
+    @Benchmark
+    public Integer map() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    public Integer mapLazy() {
+        return mapper.mapLazy(json);
+    }
+}
@@ -0,0 +1,74 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Fields with different validators and mappers (shared call sites in FieldMapper are megamorphic)
+ * mapped with and without generated bytecode.
+ * 300 fields don't fit single method compiled by JIT (HugeMethodLimit), so generated code is split into methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class GeneratedBytecodeBenchmark {
+
+    private static final List<Predicate<Integer>> VALIDATORS = Arrays.asList(
+            val -> val > 0, val -> val < 100_000, val -> val % 7 != 100, val -> val != -1);
+
+    private static final List<Function<Integer, Long>> MAPPERS = Arrays.asList(
+            val -> (long) val, val -> val * 2L, val -> val + 1L, val -> (long) -val);
+
+    @Param({"10", "100", "300"})
+    private int valuesAmount;
+
+    private String json;
+
+    private JsonPathMapper<Long> interpretedMapper;
+
+    private JsonPathMapper<Long> generatedMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/big.json");
+
+        interpretedMapper = mapper(JsonPathMapper.forClass(AtomicLong.class));
+        generatedMapper = mapper(JsonPathMapper.forClass(AtomicLong.class).generateBytecode());
+
+        assertThat(generatedMapper.map(json)).isEqualTo(interpretedMapper.map(json));
+    }
+
+    private JsonPathMapper<Long> mapper(JsonPathMapperBuilder<AtomicLong> builder) {
+        builder.initialize(AtomicLong::new);
+        for (int i = 1; i <= valuesAmount; ++i) {
+            builder.mapField(FieldMapper.fromPath("$.test.i" + i, Integer.class)
+                    .toGetterField(AtomicLong::addAndGet)
+                    .withValidator(VALIDATORS.get(i % VALIDATORS.size()))
+                    .withMapper(MAPPERS.get(i % MAPPERS.size())));
+        }
+        return builder.buildWithResultMapper(AtomicLong::get);
+    }
+
+    @Benchmark
+    public Long interpretedMap() {
+        return interpretedMapper.map(json);
+    }
+
+    @Benchmark
+    public Long generatedMap() {
+        return generatedMapper.map(json);
+    }
+}
@@ -0,0 +1,118 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.CustomerJsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.ImmutableCustomer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.ImmutableCustomerJsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Mapper generated by annotation processor (straight-line code of fields) vs the same mapper built by hand
+ * (with setters, with private fields and with constructor called by result mapper).
+ * Creation benchmarks measure cost of building mapper, e.g. at application start.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class GeneratedMapperBenchmark {
+
+    private String json;
+
+    private JsonPathMapper<Customer> generatedMapper;
+
+    private JsonPathMapper<Customer> getterFieldMapper;
+
+    private JsonPathMapper<Customer> privateFieldMapper;
+
+    private JsonPathMapper<ImmutableCustomer> generatedConstructorMapper;
+
+    private JsonPathMapper<ImmutableCustomer> constructorMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/customer.json");
+
+        generatedMapper = createGeneratedMapper();
+        getterFieldMapper = createGetterFieldMapper();
+        privateFieldMapper = createPrivateFieldMapper();
+        generatedConstructorMapper = ImmutableCustomerJsonPathMapper.create();
+        constructorMapper = createConstructorMapper();
+
+        assertThat(generatedMap().getAge()).isEqualTo(18);
+        assertThat(generatedMap().getPhones()).isEqualTo(getterFieldMap().getPhones());
+        assertThat(privateFieldMap().getName()).isEqualTo(generatedMap().getName());
+        assertThat(generatedConstructorMap().getPhones()).isEqualTo(constructorMap().getPhones());
+        assertThat(generatedConstructorMap().getAge()).isEqualTo(18);
+    }
+
+    @Benchmark
+    public Customer generatedMap() {
+        return generatedMapper.map(json);
+    }
+
+    @Benchmark
+    public Customer getterFieldMap() {
+        return getterFieldMapper.map(json);
+    }
+
+    @Benchmark
+    public Customer privateFieldMap() {
+        return privateFieldMapper.map(json);
+    }
+
+    @Benchmark
+    public ImmutableCustomer generatedConstructorMap() {
+        return generatedConstructorMapper.map(json);
+    }
+
+    @Benchmark
+    public ImmutableCustomer constructorMap() {
+        return constructorMapper.map(json);
+    }
+
+    @Benchmark
+    public JsonPathMapper<Customer> createGeneratedMapper() {
+        return CustomerJsonPathMapper.create();
+    }
+
+    @Benchmark
+    public JsonPathMapper<Customer> createGetterFieldMapper() {
+        return JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.customer.name", Customer::setName)
+                .mapField("$.customer.surname", Customer::setSurname)
+                .mapField(FieldMapper.<Customer>fromIntPath("$.customer.age").toIntField(Customer::setAge))
+                .mapField("$.customer.phones[*].number", Customer::setPhones)
+                .build();
+    }
+
+    @Benchmark
+    public JsonPathMapper<Customer> createPrivateFieldMapper() {
+        return JsonPathMapper.forClass(Customer.class)
+                .mapField("$.customer.name", "name")
+                .mapField("$.customer.surname", "surname")
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toPrivateField("age", Customer.class))
+                .mapField("$.customer.phones[*].number", "phones")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonPathMapper<ImmutableCustomer> createConstructorMapper() {
+        return JsonPathMapper.forClass(Object[].class)
+                .initialize(() -> new Object[4])
+                .mapField(FieldMapper.<Object[], String>fromPath("$.customer.name").toGetterField((target, value) -> target[0] = value))
+                .mapField(FieldMapper.<Object[], String>fromPath("$.customer.surname").toGetterField((target, value) -> target[1] = value))
+                .mapField(FieldMapper.<Object[]>fromIntPath("$.customer.age").toIntField((target, value) -> target[2] = value))
+                .mapField(FieldMapper.<Object[], List<String>>fromPath("$.customer.phones[*].number").toGetterField((target, value) -> target[3] = value))
+                .buildWithResultMapper(values -> new ImmutableCustomer((String) values[0], (String) values[1], (Integer) values[2], (List<String>) values[3]));
+    }
+}
@@ -0,0 +1,94 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class InputTypesBenchmark {
+
+    @Param({"5", "1000"})
+    private int valuesAmount;
+
+    @Param({"false", "true"})
+    private boolean streaming;
+
+    private String json;
+
+    private byte[] bytes;
+
+    private ByteBuffer heapBuffer;
+
+    private ByteBuffer directBuffer;
+
+    private JsonPathMapper<Integer> mapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/big.json");
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+        heapBuffer = ByteBuffer.wrap(bytes);
+        directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+
+        JsonPathMapperBuilder<AtomicInteger> builder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        for (int i = 1; i <= valuesAmount; ++i) {
+            builder.mapField(FieldMapper.fromPath("$.test.i" + i, Integer.class).toGetterField(AtomicInteger::addAndGet));
+        }
+        mapper = builder.buildWithResultMapper(AtomicInteger::get);
+
+        int expected = ((1 + valuesAmount) * valuesAmount) / 2;
+        assertThat(stringInput()).isEqualTo(expected);
+        assertThat(byteArrayInput()).isEqualTo(expected);
+        assertThat(heapByteBufferInput()).isEqualTo(expected);
+        assertThat(directByteBufferInput()).isEqualTo(expected);
+        assertThat(inputStreamInput()).isEqualTo(expected);
+        assertThat(readerInput()).isEqualTo(expected);
+    }
+
+    @Benchmark
+    public Integer stringInput() {
+        return streaming ? mapper.mapStreaming(json) : mapper.map(json);
+    }
+
+    @Benchmark
+    public Integer byteArrayInput() {
+        return streaming ? mapper.mapStreaming(bytes) : mapper.map(bytes);
+    }
+
+    @Benchmark
+    public Integer heapByteBufferInput() {
+        return streaming ? mapper.mapStreaming(heapBuffer) : mapper.map(heapBuffer);
+    }
+
+    @Benchmark
+    public Integer directByteBufferInput() {
+        return streaming ? mapper.mapStreaming(directBuffer) : mapper.map(directBuffer);
+    }
+
+    @Benchmark
+    public Integer inputStreamInput() {
+        ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
+        return streaming ? mapper.mapStreaming(stream) : mapper.map(stream);
+    }
+
+    @Benchmark
+    public Integer readerInput() {
+        StringReader reader = new StringReader(json);
+        return streaming ? mapper.mapStreaming(reader) : mapper.map(reader);
+    }
+}
@@ -0,0 +1,113 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.CompactJsonProvider;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Default json-smart provider vs CompactJsonProvider: few values read from big document
+ * and nested, string and array fields of customer document.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class JsonProviderBenchmark {
+
+    @Param({"5", "50", "1000"})
+    private int valuesAmount;
+
+    private String json;
+
+    private JsonPathMapper<Integer> defaultProviderMapper;
+
+    private JsonPathMapper<Integer> compactProviderMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/big.json");
+
+        defaultProviderMapper = mapper(JsonPathMapper.forClass(AtomicInteger.class));
+        compactProviderMapper = mapper(JsonPathMapper.forClass(AtomicInteger.class).jsonProvider(new CompactJsonProvider()));
+
+        int expected = ((1 + valuesAmount) * valuesAmount) / 2;
+        assertThat(defaultProviderMapper.map(json)).isEqualTo(expected);
+        assertThat(compactProviderMapper.map(json)).isEqualTo(expected);
+    }
+
+    private JsonPathMapper<Integer> mapper(JsonPathMapperBuilder<AtomicInteger> builder) {
+        builder.initialize(AtomicInteger::new);
+        for (int i = 1; i <= valuesAmount; ++i) {
+            builder.mapField(FieldMapper.fromPath("$.test.i" + i, Integer.class).toGetterField(AtomicInteger::addAndGet));
+        }
+        return builder.buildWithResultMapper(AtomicInteger::get);
+    }
+
+    @Benchmark
+    public Integer defaultProviderMap() {
+        return defaultProviderMapper.map(json);
+    }
+
+    @Benchmark
+    public Integer compactProviderMap() {
+        return compactProviderMapper.map(json);
+    }
+
+    @Benchmark
+    public Customer defaultProviderCustomerMap(CustomerDocument document) {
+        return document.defaultProviderMapper.map(document.json);
+    }
+
+    @Benchmark
+    public Customer compactProviderCustomerMap(CustomerDocument document) {
+        return document.compactProviderMapper.map(document.json);
+    }
+
+    @State(Scope.Benchmark)
+    public static class CustomerDocument {
+
+        private String json;
+
+        private JsonPathMapper<Customer> defaultProviderMapper;
+
+        private JsonPathMapper<Customer> compactProviderMapper;
+
+        @Setup
+        public void before() {
+            json = JmhResourceLoader.load("json/customer.json");
+
+            defaultProviderMapper = mapper(JsonPathMapper.forClass(Customer.class));
+            compactProviderMapper = mapper(JsonPathMapper.forClass(Customer.class).jsonProvider(new CompactJsonProvider()));
+
+            for (JsonPathMapper<Customer> mapper : Arrays.asList(defaultProviderMapper, compactProviderMapper)) {
+                Customer customer = mapper.map(json);
+                assertThat(customer.getSurname()).isEqualTo("Kowalski");
+                assertThat(customer.getAge()).isEqualTo(18);
+                assertThat(customer.getCreated()).isEqualTo(LocalDate.of(1988, 11, 20));
+                assertThat(customer.getPhones()).containsExactly("111-222-333", "333-222-444");
+            }
+        }
+
+        private static JsonPathMapper<Customer> mapper(JsonPathMapperBuilder<Customer> builder) {
+            return builder.initialize(Customer::new)
+                    .mapField("$.customer.name", Customer::setName)
+                    .mapField("$.customer.surname", Customer::setSurname)
+                    .mapField("$.customer.age", Customer::setAge)
+                    .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                    .mapField("$.customer.phones[*].number", Customer::setPhones)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Wide document (500 fields with string and number values), only few of them are mapped.
+ * Parsed document vs streaming vs lazy tape. Run with -prof gc to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class LazyTapeBenchmark {
+
+    private static final int FIELDS_AMOUNT = 500;
+
+    @Param({"10", "50", "500"})
+    private int mappedFields;
+
+    private String json;
+
+    private JsonPathMapper<Integer> mapper;
+
+    @Setup
+    public void before() {
+        StringBuilder jsonBuilder = new StringBuilder("{\"fields\": {");
+        for (int i = 0; i < FIELDS_AMOUNT; ++i) {
+            jsonBuilder.append(i == 0 ? "" : ",")
+                    .append("\"f").append(i).append("\": {\"id\": ").append(i)
+                    .append(", \"name\": \"name of field ").append(i).append("\", \"ratio\": ").append(i).append(".5}");
+        }
+        json = jsonBuilder.append("}}").toString();
+
+        JsonPathMapperBuilder<AtomicInteger> builder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        int step = FIELDS_AMOUNT / mappedFields;
+        int expected = 0;
+        for (int i = 0; i < FIELDS_AMOUNT; i += step) {
+            builder.mapField(FieldMapper.fromPath("$.fields.f" + i + ".id", Integer.class).toGetterField(AtomicInteger::addAndGet));
+            expected += i;
+        }
+        mapper = builder.buildWithResultMapper(AtomicInteger::get);
+
+        assertThat(mapper.map(json)).isEqualTo(expected);
+        assertThat(mapper.mapStreaming(json)).isEqualTo(expected);
+        assertThat(mapper.mapLazy(json)).isEqualTo(expected);
+    }
+
+    @Benchmark
+    public Integer domMap() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    public Integer streamingMap() {
+        return mapper.mapStreaming(json);
+    }
+
+    @Benchmark
+    public Integer lazyMap() {
+        return mapper.mapLazy(json);
+    }
+}
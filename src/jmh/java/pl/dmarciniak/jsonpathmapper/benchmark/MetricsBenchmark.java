@@ -0,0 +1,63 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.MetricsCollector;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Mapper without metrics vs mapper with MetricsCollector, mapped from several threads
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"5", "50"})
+    private int valuesAmount;
+
+    private String json;
+
+    private JsonPathMapper<Integer> mapper;
+
+    private JsonPathMapper<Integer> measuredMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/big.json");
+
+        mapper = mapper(JsonPathMapper.forClass(AtomicInteger.class));
+        measuredMapper = mapper(JsonPathMapper.forClass(AtomicInteger.class).metrics(new MetricsCollector()));
+
+        int expected = ((1 + valuesAmount) * valuesAmount) / 2;
+        assertThat(mapper.map(json)).isEqualTo(expected);
+        assertThat(measuredMapper.map(json)).isEqualTo(expected);
+    }
+
+    private JsonPathMapper<Integer> mapper(JsonPathMapperBuilder<AtomicInteger> builder) {
+        builder.initialize(AtomicInteger::new);
+        for (int i = 1; i <= valuesAmount; ++i) {
+            builder.mapField(FieldMapper.fromPath("$.test.i" + i, Integer.class).toGetterField(AtomicInteger::addAndGet));
+        }
+        return builder.buildWithResultMapper(AtomicInteger::get);
+    }
+
+    @Benchmark
+    public Integer map() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    public Integer measuredMap() {
+        return measuredMapper.map(json);
+    }
+}
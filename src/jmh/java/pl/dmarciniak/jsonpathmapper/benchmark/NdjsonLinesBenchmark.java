@@ -0,0 +1,97 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Mapping of generated newline-delimited json file: lines read to Strings vs memory-mapped lines
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class NdjsonLinesBenchmark {
+
+    @Param({"256"})
+    private int fileSizeMb;
+
+    private Path file;
+
+    private long linesAmount;
+
+    private JsonPathMapper<Customer> mapper;
+
+    @Setup
+    public void before() throws IOException {
+        String line = JmhResourceLoader.load("json/customer.json").replaceAll("\\s*\\n\\s*", "");
+        file = Files.createTempFile("customers", ".ndjson");
+        long fileSize = fileSizeMb * 1024L * 1024L;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (long written = 0; written < fileSize; written += line.length() + 1, ++linesAmount) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+
+        mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.customer.name", Customer::setName)
+                .mapField("$.customer.surname", Customer::setSurname)
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Customer::setAge))
+                .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .build();
+
+        assertThat(readLinesMap()).isEqualTo(linesAmount);
+        assertThat(mappedLinesMap()).isEqualTo(linesAmount);
+        assertThat(mappedLinesParallelMap()).isEqualTo(linesAmount);
+    }
+
+    @TearDown
+    public void after() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public long readLinesMap() throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.map(mapper::map).count();
+        }
+    }
+
+    @Benchmark
+    public long readLinesParallelMap() throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.parallel().map(mapper::map).count();
+        }
+    }
+
+    @Benchmark
+    public long mappedLinesMap() {
+        try (Stream<Customer> customers = mapper.mapLines(file)) {
+            return customers.count();
+        }
+    }
+
+    @Benchmark
+    public long mappedLinesParallelMap() {
+        try (Stream<Customer> customers = mapper.mapLines(file)) {
+            return customers.parallel().count();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Item;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Order;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Array of objects mapped to list of items by nested mapper vs raw list of maps converted by hand-written mapper
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class NestedMapperBenchmark {
+
+    @Param({"1KB", "100KB"})
+    private String size;
+
+    private String json;
+
+    private JsonPathMapper<Order> nestedMapper;
+
+    private JsonPathMapper<Order> rawMapsMapper;
+
+    @Setup
+    public void before() {
+        json = JsonDocumentGenerator.document().size(size).generate();
+
+        JsonPathMapper<Item> itemMapper = JsonPathMapper.forClass(Item.class)
+                .initialize(Item::new)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toGetterField(Item::setId))
+                .mapField(FieldMapper.fromPath("$.price", Double.class).toGetterField(Item::setPrice))
+                .mapField(FieldMapper.fromPath("$.category", String.class).toGetterField(Item::setCategory))
+                .build();
+        nestedMapper = JsonPathMapper.forClass(Order.class)
+                .initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.items").toGetterField(Order::setItems).withNestedListMapper(itemMapper))
+                .build();
+
+        rawMapsMapper = JsonPathMapper.forClass(Order.class)
+                .initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.items", List.class).toGetterField(Order::setItems).withMapper(NestedMapperBenchmark::toItems))
+                .build();
+
+        List<Item> items = nestedMap().getItems();
+        assertThat(rawMapsMap().getItems()).hasSize(items.size());
+        assertThat(items.get(0).getCategory()).isEqualTo("cat0");
+    }
+
+    private static List<Item> toItems(List<?> maps) {
+        List<Item> items = new ArrayList<>(maps.size());
+        for (Object element : maps) {
+            Map<?, ?> map = (Map<?, ?>) element;
+            Item item = new Item();
+            item.setId((Integer) map.get("id"));
+            item.setPrice((Double) map.get("price"));
+            item.setCategory((String) map.get("category"));
+            items.add(item);
+        }
+        return items;
+    }
+
+    @Benchmark
+    public Order nestedMap() {
+        return nestedMapper.map(json);
+    }
+
+    @Benchmark
+    public Order rawMapsMap() {
+        return rawMapsMapper.map(json);
+    }
+}
@@ -0,0 +1,96 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class ParallelExecutionBenchmark {
+
+    /**
+     * Cost of mapper of each field in cpu tokens: 0 for cheap fields, big values for fields worth parallel mapping
+     */
+    @Param({"0", "10000"})
+    private int fieldCost;
+
+    private String json;
+
+    private ForkJoinPool pool;
+
+    private JsonPathMapper<Customer> defaultMapper;
+
+    private JsonPathMapper<Customer> customPoolMapper;
+
+    private JsonPathMapper<Customer> adaptiveMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/customer.json");
+        pool = new ForkJoinPool(4);
+
+        defaultMapper = customerMapper().build();
+        customPoolMapper = customerMapper().parallelExecutor(pool).parallelChunkSize(2).build();
+        adaptiveMapper = customerMapper().parallelExecutor(pool).adaptiveParallelism().build();
+
+        assertThat(sequentialMap().getAge()).isEqualTo(18);
+        assertThat(defaultParallelMap().getAge()).isEqualTo(18);
+        assertThat(customPoolParallelMap().getAge()).isEqualTo(18);
+        assertThat(adaptiveParallelMap().getAge()).isEqualTo(18);
+    }
+
+    @TearDown
+    public void after() {
+        pool.shutdown();
+    }
+
+    private JsonPathMapperBuilder<Customer> customerMapper() {
+        return JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toGetterField(Customer::setName).withMapper(cost()))
+                .mapField(FieldMapper.fromPath("$.customer.surname", String.class).toGetterField(Customer::setSurname).withMapper(cost()))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Customer::setAge).withMapper(cost()))
+                .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toGetterField(Customer::setCreated).withMapper(this.<String>cost().andThen(LocalDate::parse)))
+                .mapField("$.customer.phones[*].number", Customer::setPhones);
+    }
+
+    private <V> Function<V, V> cost() {
+        return val -> {
+            Blackhole.consumeCPU(fieldCost);
+            return val;
+        };
+    }
+
+    @Benchmark
+    public Customer sequentialMap() {
+        return defaultMapper.map(json);
+    }
+
+    @Benchmark
+    public Customer defaultParallelMap() {
+        return defaultMapper.parallelMap(json);
+    }
+
+    @Benchmark
+    public Customer customPoolParallelMap() {
+        return customPoolMapper.parallelMap(json);
+    }
+
+    @Benchmark
+    public Customer adaptiveParallelMap() {
+        return adaptiveMapper.parallelMap(json);
+    }
+}
@@ -0,0 +1,89 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Order;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Single field read by different kinds of paths: definite, deeply nested, wildcard, filter and deep scan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class PathKindsBenchmark {
+
+    @Param({"1KB", "100KB"})
+    private String size;
+
+    @Param({"5", "50"})
+    private int depth;
+
+    private String json;
+
+    private JsonPathMapper<Order> definitePathMapper;
+
+    private JsonPathMapper<Order> deepPathMapper;
+
+    private JsonPathMapper<Order> wildcardPathMapper;
+
+    private JsonPathMapper<Order> filterPathMapper;
+
+    private JsonPathMapper<Order> deepScanPathMapper;
+
+    @Setup
+    public void before() {
+        json = JsonDocumentGenerator.document().size(size).depth(depth).generate();
+
+        definitePathMapper = mapper("$.customer.name", Order::setCustomerName);
+        deepPathMapper = mapper(JsonDocumentGenerator.deepPath(depth), Order::setDeepValue);
+        wildcardPathMapper = mapper("$.items[*].price", Order::setPrices);
+        filterPathMapper = mapper("$.items[?(@.category == 'cat1')].price", Order::setPrices);
+        deepScanPathMapper = mapper("$..price", Order::setPrices);
+
+        List<Double> prices = wildcardPath().getPrices();
+        assertThat(definitePath().getCustomerName()).startsWith("Name");
+        assertThat(deepPath().getDeepValue()).isEqualTo(depth);
+        assertThat(filterPath().getPrices()).hasSize((prices.size() + JsonDocumentGenerator.CATEGORIES - 2) / JsonDocumentGenerator.CATEGORIES);
+        assertThat(deepScanPath().getPrices()).isEqualTo(prices);
+    }
+
+    private static <V> JsonPathMapper<Order> mapper(String path, BiConsumer<Order, V> setter) {
+        return JsonPathMapper.forClass(Order.class)
+                .initialize(Order::new)
+                .mapField(path, setter)
+                .build();
+    }
+
+    @Benchmark
+    public Order definitePath() {
+        return definitePathMapper.map(json);
+    }
+
+    @Benchmark
+    public Order deepPath() {
+        return deepPathMapper.map(json);
+    }
+
+    @Benchmark
+    public Order wildcardPath() {
+        return wildcardPathMapper.map(json);
+    }
+
+    @Benchmark
+    public Order filterPath() {
+        return filterPathMapper.map(json);
+    }
+
+    @Benchmark
+    public Order deepScanPath() {
+        return deepScanPathMapper.map(json);
+    }
+}
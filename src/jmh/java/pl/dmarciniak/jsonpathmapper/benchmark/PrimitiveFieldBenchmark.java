@@ -0,0 +1,76 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Boxed vs primitive field mappers, compare allocation rate reported by gc profiler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class PrimitiveFieldBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int valuesAmount;
+
+    private String json;
+
+    private JsonPathMapper<Long> boxedMapper;
+
+    private JsonPathMapper<Long> primitiveMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/big.json");
+
+        JsonPathMapperBuilder<AtomicLong> boxedBuilder = JsonPathMapper.forClass(AtomicLong.class).initialize(AtomicLong::new);
+        JsonPathMapperBuilder<AtomicLong> primitiveBuilder = JsonPathMapper.forClass(AtomicLong.class).initialize(AtomicLong::new);
+        for (int i = 1; i <= valuesAmount; ++i) {
+            boxedBuilder.mapField(FieldMapper.fromPath("$.test.i" + i, Integer.class)
+                    .toGetterField(AtomicLong::addAndGet)
+                    .withValidator(val -> val > 0)
+                    .withMapper(val -> val * 1000L));
+            primitiveBuilder.mapField(FieldMapper.<AtomicLong>fromLongPath("$.test.i" + i)
+                    .toLongField(AtomicLong::addAndGet)
+                    .withLongValidator(val -> val > 0)
+                    .withLongMapper(val -> val * 1000L));
+        }
+        boxedMapper = boxedBuilder.buildWithResultMapper(AtomicLong::get);
+        primitiveMapper = primitiveBuilder.buildWithResultMapper(AtomicLong::get);
+
+        long expected = 1000L * ((1 + valuesAmount) * valuesAmount) / 2;
+        assertThat(boxedMap()).isEqualTo(expected);
+        assertThat(primitiveMap()).isEqualTo(expected);
+        assertThat(primitiveStreamingMap()).isEqualTo(expected);
+    }
+
+    @Benchmark
+    public Long boxedMap() {
+        return boxedMapper.map(json);
+    }
+
+    @Benchmark
+    public Long primitiveMap() {
+        return primitiveMapper.map(json);
+    }
+
+    @Benchmark
+    public Long boxedStreamingMap() {
+        return boxedMapper.mapStreaming(json);
+    }
+
+    @Benchmark
+    public Long primitiveStreamingMap() {
+        return primitiveMapper.mapStreaming(json);
+    }
+}
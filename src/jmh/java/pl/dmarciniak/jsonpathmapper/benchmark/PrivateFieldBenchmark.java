@@ -0,0 +1,96 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class PrivateFieldBenchmark {
+
+    private String json;
+
+    private JsonPathMapper<Customer> privateFieldMapper;
+
+    private JsonPathMapper<Customer> getterFieldMapper;
+
+    private JsonPathMapper<Customer> reflectionFieldMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/customer.json");
+
+        privateFieldMapper = JsonPathMapper.forClass(Customer.class)
+                .mapField("$.customer.name", "name")
+                .mapField("$.customer.surname", "surname")
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toPrivateField("age", Customer.class))
+                .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toPrivateField("created", Customer.class).withMapper(LocalDate::parse))
+                .mapField("$.customer.phones[*].number", "phones")
+                .build();
+
+        getterFieldMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.customer.name", Customer::setName)
+                .mapField("$.customer.surname", Customer::setSurname)
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Customer::setAge))
+                .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField("$.customer.phones[*].number", Customer::setPhones)
+                .build();
+
+        reflectionFieldMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.customer.name", reflectiveSetter("name"))
+                .mapField("$.customer.surname", reflectiveSetter("surname"))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(reflectiveSetter("age")))
+                .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toGetterField(reflectiveSetter("created")).withMapper(LocalDate::parse))
+                .mapField("$.customer.phones[*].number", reflectiveSetter("phones"))
+                .build();
+
+        assertThat(privateFieldMap().getAge()).isEqualTo(18);
+        assertThat(getterFieldMap().getAge()).isEqualTo(18);
+        assertThat(reflectionFieldMap().getAge()).isEqualTo(18);
+    }
+
+    /**
+     * Field setting as it was done before setters were cached: lookup and access flag change per value
+     */
+    private static <V> BiConsumer<Customer, V> reflectiveSetter(String fieldName) {
+        return (targetObj, val) -> {
+            try {
+                Field field = targetObj.getClass().getDeclaredField(fieldName);
+                boolean accessible = field.isAccessible();
+                field.setAccessible(true);
+                field.set(targetObj, val);
+                field.setAccessible(accessible);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    @Benchmark
+    public Customer privateFieldMap() {
+        return privateFieldMapper.map(json);
+    }
+
+    @Benchmark
+    public Customer getterFieldMap() {
+        return getterFieldMapper.map(json);
+    }
+
+    @Benchmark
+    public Customer reflectionFieldMap() {
+        return reflectionFieldMapper.map(json);
+    }
+}
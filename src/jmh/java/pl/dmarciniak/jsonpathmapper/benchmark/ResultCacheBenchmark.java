@@ -0,0 +1,84 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Order;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Repeated documents (polling) mapped with and without cache of results, cache keeps up to 100 documents
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class ResultCacheBenchmark {
+
+    private static final int DEPTH = 5;
+
+    @Param({"1KB", "100KB"})
+    private String size;
+
+    @Param({"10", "1000"})
+    private int distinctDocuments;
+
+    private String[] jsons;
+
+    private int next;
+
+    private JsonPathMapper<Order> mapper;
+
+    private JsonPathMapper<Order> cachedMapper;
+
+    @Setup
+    public void before() {
+        jsons = new String[distinctDocuments];
+        for (int i = 0; i < distinctDocuments; ++i) {
+            jsons[i] = JsonDocumentGenerator.document().size(size).depth(DEPTH).seed(i).generate();
+        }
+
+        mapper = mapper(JsonPathMapper.forClass(Order.class));
+        cachedMapper = mapper(JsonPathMapper.forClass(Order.class).cacheResults(100, ResultCacheBenchmark::copy));
+
+        assertThat(cachedMapper.map(jsons[0]).getPrices()).isEqualTo(mapper.map(jsons[0]).getPrices());
+    }
+
+    private static JsonPathMapper<Order> mapper(JsonPathMapperBuilder<Order> builder) {
+        return builder.initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toGetterField(Order::setId))
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toGetterField(Order::setCustomerName))
+                .mapField(FieldMapper.fromPath(JsonDocumentGenerator.deepPath(DEPTH), Integer.class).toGetterField(Order::setDeepValue))
+                .mapField("$.items[*].price", Order::setPrices)
+                .build();
+    }
+
+    private static Order copy(Order order) {
+        return new Order()
+                .withId(order.getId())
+                .withCustomerName(order.getCustomerName())
+                .withDeepValue(order.getDeepValue())
+                .withPrices(new ArrayList<>(order.getPrices()));
+    }
+
+    @Benchmark
+    public Order map() {
+        return mapper.map(nextJson());
+    }
+
+    @Benchmark
+    public Order cachedMap() {
+        return cachedMapper.map(nextJson());
+    }
+
+    private String nextJson() {
+        next = next + 1 == jsons.length ? 0 : next + 1;
+        return jsons[next];
+    }
+}
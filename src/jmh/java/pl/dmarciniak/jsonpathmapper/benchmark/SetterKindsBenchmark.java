@@ -0,0 +1,95 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Order;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The same fields set by toPrivateField, toGetterField and toChainField and mapped by buildWithResultMapper
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class SetterKindsBenchmark {
+
+    private static final int DEPTH = 5;
+
+    private String json;
+
+    private JsonPathMapper<Order> privateFieldMapper;
+
+    private JsonPathMapper<Order> getterFieldMapper;
+
+    private JsonPathMapper<Order> chainFieldMapper;
+
+    private JsonPathMapper<String> resultMapper;
+
+    @Setup
+    public void before() {
+        json = JsonDocumentGenerator.document().depth(DEPTH).generate();
+        String deepPath = JsonDocumentGenerator.deepPath(DEPTH);
+
+        privateFieldMapper = JsonPathMapper.forClass(Order.class)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toPrivateField("id", Order.class))
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toPrivateField("customerName", Order.class))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toPrivateField("customerAge", Order.class))
+                .mapField(FieldMapper.fromPath(deepPath, Integer.class).toPrivateField("deepValue", Order.class))
+                .build();
+
+        getterFieldMapper = JsonPathMapper.forClass(Order.class)
+                .initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toGetterField(Order::setId))
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toGetterField(Order::setCustomerName))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Order::setCustomerAge))
+                .mapField(FieldMapper.fromPath(deepPath, Integer.class).toGetterField(Order::setDeepValue))
+                .build();
+
+        chainFieldMapper = JsonPathMapper.forClass(Order.class)
+                .initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toChainField(Order::withId))
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toChainField(Order::withCustomerName))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toChainField(Order::withCustomerAge))
+                .mapField(FieldMapper.fromPath(deepPath, Integer.class).toChainField(Order::withDeepValue))
+                .build();
+
+        resultMapper = JsonPathMapper.forClass(Order.class)
+                .initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toGetterField(Order::setId))
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toGetterField(Order::setCustomerName))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Order::setCustomerAge))
+                .mapField(FieldMapper.fromPath(deepPath, Integer.class).toGetterField(Order::setDeepValue))
+                .buildWithResultMapper(order -> order.getCustomerName() + " " + order.getCustomerAge());
+
+        assertThat(privateFieldMap().getDeepValue()).isEqualTo(DEPTH);
+        assertThat(getterFieldMap().getDeepValue()).isEqualTo(DEPTH);
+        assertThat(chainFieldMap().getDeepValue()).isEqualTo(DEPTH);
+        assertThat(resultMapperMap()).startsWith("Name");
+    }
+
+    @Benchmark
+    public Order privateFieldMap() {
+        return privateFieldMapper.map(json);
+    }
+
+    @Benchmark
+    public Order getterFieldMap() {
+        return getterFieldMapper.map(json);
+    }
+
+    @Benchmark
+    public Order chainFieldMap() {
+        return chainFieldMapper.map(json);
+    }
+
+    @Benchmark
+    public String resultMapperMap() {
+        return resultMapper.map(json);
+    }
+}
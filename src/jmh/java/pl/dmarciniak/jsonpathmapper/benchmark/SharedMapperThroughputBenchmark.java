@@ -0,0 +1,63 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Order;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Throughput of single mapper shared by many threads
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class SharedMapperThroughputBenchmark {
+
+    private static final int DEPTH = 5;
+
+    @Param({"1KB", "100KB"})
+    private String size;
+
+    private String json;
+
+    private JsonPathMapper<Order> mapper;
+
+    @Setup
+    public void before() {
+        json = JsonDocumentGenerator.document().size(size).depth(DEPTH).generate();
+
+        mapper = JsonPathMapper.forClass(Order.class)
+                .initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toGetterField(Order::setId))
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toGetterField(Order::setCustomerName))
+                .mapField(FieldMapper.fromPath(JsonDocumentGenerator.deepPath(DEPTH), Integer.class).toGetterField(Order::setDeepValue))
+                .mapField("$.items[*].price", Order::setPrices)
+                .build();
+
+        assertThat(singleThreadMap().getDeepValue()).isEqualTo(DEPTH);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Order singleThreadMap() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Order fourThreadsMap() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Order allThreadsMap() {
+        return mapper.map(json);
+    }
+}
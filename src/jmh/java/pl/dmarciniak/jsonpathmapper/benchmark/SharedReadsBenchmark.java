@@ -0,0 +1,70 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Many fields with the same wildcard path: mapper reads path once per document,
+ * json-path reads it for each field
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class SharedReadsBenchmark {
+
+    private static final String PATH = "$.items[*].price";
+
+    @Param({"2", "10"})
+    private int fieldsAmount;
+
+    @Param({"1KB", "100KB"})
+    private String size;
+
+    private String json;
+
+    private JsonPathMapper<Integer> mapper;
+
+    private JsonPath path;
+
+    @Setup
+    public void before() {
+        json = JsonDocumentGenerator.document().size(size).generate();
+
+        JsonPathMapperBuilder<AtomicInteger> builder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        for (int i = 0; i < fieldsAmount; ++i) {
+            builder.mapField(FieldMapper.fromPath(PATH, List.class).toGetterField(AtomicInteger::addAndGet).withMapper(List::size));
+        }
+        mapper = builder.buildWithResultMapper(AtomicInteger::get);
+        path = JsonPath.compile(PATH);
+
+        assertThat(mapper.readPlan().getSharedReads()).isEqualTo(fieldsAmount - 1);
+        assertThat(sharedReadsMap()).isEqualTo(separateReads());
+    }
+
+    @Benchmark
+    public Integer sharedReadsMap() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    public Integer separateReads() {
+        DocumentContext document = JsonPath.parse(json);
+        int items = 0;
+        for (int i = 0; i < fieldsAmount; ++i) {
+            items += document.<List<?>>read(path).size();
+        }
+        return items;
+    }
+}
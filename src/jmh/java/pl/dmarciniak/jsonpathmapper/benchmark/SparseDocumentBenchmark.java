@@ -0,0 +1,95 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Sparse document: most of optional fields don't exist.
+ * Mapper vs reading fields by json-path with catching PathNotFoundException or with SUPPRESS_EXCEPTIONS option.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class SparseDocumentBenchmark {
+
+    private static final int FIELDS_AMOUNT = 300;
+    private static final int PRESENT_EVERY = 30;
+
+    private String json;
+
+    private JsonPathMapper<Integer> mapper;
+
+    private List<JsonPath> paths;
+
+    private Configuration suppressExceptions;
+
+    @Setup
+    public void before() {
+        StringBuilder jsonBuilder = new StringBuilder("{");
+        for (int i = 0; i < FIELDS_AMOUNT; i += PRESENT_EVERY) {
+            jsonBuilder.append(i == 0 ? "" : ",").append("\"section").append(i).append("\": {\"value\": 1, \"items\": [{\"value\": 1}]}");
+        }
+        json = jsonBuilder.append("}").toString();
+
+        JsonPathMapperBuilder<AtomicInteger> builder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        paths = new ArrayList<>();
+        for (int i = 0; i < FIELDS_AMOUNT; ++i) {
+            String path = i % 2 == 0 ? "$.section" + i + ".value" : "$.section" + (i - 1) + ".items[*].value";
+            builder.mapOptionalField(path, (AtomicInteger counter, Object value) -> counter.incrementAndGet());
+            paths.add(JsonPath.compile(path));
+        }
+        mapper = builder.buildWithResultMapper(AtomicInteger::get);
+        suppressExceptions = Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS);
+
+        int presentFields = 2 * FIELDS_AMOUNT / PRESENT_EVERY;
+        assertThat(mapperMap()).isEqualTo(presentFields);
+        assertThat(catchExceptionsRead()).isEqualTo(presentFields);
+    }
+
+    @Benchmark
+    public Integer mapperMap() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    public Integer catchExceptionsRead() {
+        DocumentContext document = JsonPath.parse(json);
+        int found = 0;
+        for (JsonPath path : paths) {
+            try {
+                document.read(path);
+                ++found;
+            } catch (PathNotFoundException e) {
+                // optional field doesn't exist
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Integer suppressExceptionsRead() {
+        DocumentContext document = JsonPath.using(suppressExceptions).parse(json);
+        int found = 0;
+        for (JsonPath path : paths) {
+            Object value = document.read(path);
+            if (value != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+}
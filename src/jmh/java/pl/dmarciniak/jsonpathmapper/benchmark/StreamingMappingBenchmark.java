@@ -0,0 +1,50 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class StreamingMappingBenchmark {
+
+    @Param({"5", "10", "50", "100", "500", "1000"})
+    private int valuesAmount;
+
+    private String json;
+
+    private JsonPathMapper<Integer> mapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/big.json");
+
+        JsonPathMapperBuilder<AtomicInteger> builder = JsonPathMapper.forClass(AtomicInteger.class).initialize(AtomicInteger::new);
+        for (int i = 1; i <= valuesAmount; ++i) {
+            builder.mapField(FieldMapper.fromPath("$.test.i" + i, Integer.class).toGetterField(AtomicInteger::addAndGet));
+        }
+        mapper = builder.buildWithResultMapper(AtomicInteger::get);
+
+        assertThat(mapper.map(json)).isEqualTo(((1 + valuesAmount) * valuesAmount) / 2);
+        assertThat(mapper.mapStreaming(json)).isEqualTo(((1 + valuesAmount) * valuesAmount) / 2);
+    }
+
+    @Benchmark
+    public Integer domMap() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    public Integer streamingMap() {
+        return mapper.mapStreaming(json);
+    }
+}
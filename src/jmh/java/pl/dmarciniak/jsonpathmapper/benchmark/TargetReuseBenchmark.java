@@ -0,0 +1,70 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Order;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JsonDocumentGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * New target for every document vs target reused per thread vs mapping into target of consumer.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class TargetReuseBenchmark {
+
+    private static final int DEPTH = 5;
+
+    private String json;
+
+    private JsonPathMapper<Order> mapper;
+
+    private JsonPathMapper<Order> reusingMapper;
+
+    private Order target;
+
+    @Setup
+    public void before() {
+        json = JsonDocumentGenerator.document().depth(DEPTH).generate();
+
+        mapper = mapper(JsonPathMapper.forClass(Order.class));
+        reusingMapper = mapper(JsonPathMapper.forClass(Order.class).reuseTargets(order -> order.setCustomerName(null)));
+        target = new Order();
+
+        assertThat(map().getDeepValue()).isEqualTo(DEPTH);
+        assertThat(reusedTargetMap().getDeepValue()).isEqualTo(DEPTH);
+        assertThat(mapInto().getDeepValue()).isEqualTo(DEPTH);
+    }
+
+    private static JsonPathMapper<Order> mapper(JsonPathMapperBuilder<Order> builder) {
+        return builder.initialize(Order::new)
+                .mapField(FieldMapper.fromPath("$.id", Integer.class).toGetterField(Order::setId))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Order::setCustomerAge))
+                .mapField(FieldMapper.fromPath(JsonDocumentGenerator.deepPath(DEPTH), Integer.class).toGetterField(Order::setDeepValue))
+                .mapOptionalField("$.customer.nickname", Order::setCustomerName)
+                .build();
+    }
+
+    @Benchmark
+    public Order map() {
+        return mapper.map(json);
+    }
+
+    @Benchmark
+    public Order reusedTargetMap() {
+        return reusingMapper.map(json);
+    }
+
+    @Benchmark
+    public Order mapInto() {
+        return mapper.mapInto(json, target);
+    }
+}
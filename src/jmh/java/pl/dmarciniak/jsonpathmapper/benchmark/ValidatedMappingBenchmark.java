@@ -0,0 +1,73 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.ValidationResult;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+import pl.dmarciniak.jsonpathmapper.exception.JsonPathMapperException;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Rejecting wrong json: exception of the first wrong field vs errors of all wrong fields collected by mapValidated
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+public class ValidatedMappingBenchmark {
+
+    private String validJson;
+
+    private String wrongJson;
+
+    private JsonPathMapper<Customer> mapper;
+
+    @Setup
+    public void before() {
+        validJson = JmhResourceLoader.load("json/customer.json");
+        wrongJson = validJson.replace("\"age\": 18", "\"age\": -18").replace("\"name\"", "\"firstName\"");
+
+        mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.customer.name", Customer::setName)
+                .mapField("$.customer.surname", Customer::setSurname)
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Customer::setAge).withValidator(val -> val > 0))
+                .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField("$.customer.phones[*].number", Customer::setPhones)
+                .build();
+
+        assertThat(validatedMapOfValidJson().isValid()).isTrue();
+        assertThat(validatedMapOfWrongJson().getErrors()).hasSize(2);
+        assertThat(mapOfWrongJson()).isNull();
+    }
+
+    @Benchmark
+    public Customer mapOfValidJson() {
+        return mapper.map(validJson);
+    }
+
+    @Benchmark
+    public ValidationResult<Customer> validatedMapOfValidJson() {
+        return mapper.mapValidated(validJson);
+    }
+
+    @Benchmark
+    public Customer mapOfWrongJson() {
+        try {
+            return mapper.map(wrongJson);
+        } catch (JsonPathMapperException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public ValidationResult<Customer> validatedMapOfWrongJson() {
+        return mapper.mapValidated(wrongJson);
+    }
+}
@@ -0,0 +1,86 @@
+package pl.dmarciniak.jsonpathmapper.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.dmarciniak.jsonpathmapper.FieldMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.JsonPathMapperBuilder;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.Customer;
+import pl.dmarciniak.jsonpathmapper.benchmark.data.helper.JmhResourceLoader;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Sequential vs ForkJoin parallel vs virtual threads parallel map of fields with blocking mappers (e.g. remote lookups).
+ * Run on Java 21+ to measure virtual threads (on older JVM virtualThreadsParallelMap falls back to ForkJoin pool).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    /**
+     * Time in milliseconds for which mapper of each field is blocked
+     */
+    @Param({"1", "10"})
+    private int fieldLatency;
+
+    private String json;
+
+    private JsonPathMapper<Customer> forkJoinMapper;
+
+    private JsonPathMapper<Customer> virtualThreadsMapper;
+
+    @Setup
+    public void before() {
+        json = JmhResourceLoader.load("json/customer.json");
+
+        forkJoinMapper = customerMapper().build();
+        virtualThreadsMapper = customerMapper().virtualThreads().build();
+
+        assertThat(sequentialMap().getAge()).isEqualTo(18);
+        assertThat(forkJoinParallelMap().getAge()).isEqualTo(18);
+        assertThat(virtualThreadsParallelMap().getAge()).isEqualTo(18);
+    }
+
+    private JsonPathMapperBuilder<Customer> customerMapper() {
+        return JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath("$.customer.name", String.class).toGetterField(Customer::setName).withMapper(latency()))
+                .mapField(FieldMapper.fromPath("$.customer.surname", String.class).toGetterField(Customer::setSurname).withMapper(latency()))
+                .mapField(FieldMapper.fromPath("$.customer.age", Integer.class).toGetterField(Customer::setAge).withMapper(latency()))
+                .mapField(FieldMapper.fromPath("$.customer.accountCreated", String.class).toGetterField(Customer::setCreated).withMapper(this.<String>latency().andThen(LocalDate::parse)))
+                .mapField("$.customer.phones[*].number", Customer::setPhones);
+    }
+
+    private <V> Function<V, V> latency() {
+        return val -> {
+            try {
+                Thread.sleep(fieldLatency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return val;
+        };
+    }
+
+    @Benchmark
+    public Customer sequentialMap() {
+        return forkJoinMapper.map(json);
+    }
+
+    @Benchmark
+    public Customer forkJoinParallelMap() {
+        return forkJoinMapper.parallelMap(json);
+    }
+
+    @Benchmark
+    public Customer virtualThreadsParallelMap() {
+        return virtualThreadsMapper.parallelMap(json);
+    }
+}
@@ -0,0 +1,60 @@
+package pl.dmarciniak.jsonpathmapper.benchmark.data;
+
+import pl.dmarciniak.jsonpathmapper.annotation.JsonPathMapping;
+import pl.dmarciniak.jsonpathmapper.annotation.Path;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@JsonPathMapping
+public class Customer {
+    @Path("$.customer.name")
+    private String name;
+    @Path("$.customer.surname")
+    private String surname;
+    @Path("$.customer.age")
+    private int age;
+    private LocalDate created;
+    @Path("$.customer.phones[*].number")
+    private List<String> phones;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public void setSurname(String surname) {
+        this.surname = surname;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public LocalDate getCreated() {
+        return created;
+    }
+
+    public void setCreated(LocalDate created) {
+        this.created = created;
+    }
+
+    public List<String> getPhones() {
+        return phones;
+    }
+
+    public void setPhones(List<String> phones) {
+        this.phones = phones;
+    }
+}
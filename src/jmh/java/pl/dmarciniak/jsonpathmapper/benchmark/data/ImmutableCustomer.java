@@ -0,0 +1,43 @@
+package pl.dmarciniak.jsonpathmapper.benchmark.data;
+
+import pl.dmarciniak.jsonpathmapper.annotation.JsonPathMapping;
+import pl.dmarciniak.jsonpathmapper.annotation.Path;
+
+import java.util.List;
+
+/**
+ * Customer created by constructor (see GeneratedMapperBenchmark)
+ */
+@JsonPathMapping
+public class ImmutableCustomer {
+    private final String name;
+    private final String surname;
+    private final int age;
+    private final List<String> phones;
+
+    public ImmutableCustomer(@Path("$.customer.name") String name,
+                             @Path("$.customer.surname") String surname,
+                             @Path("$.customer.age") int age,
+                             @Path("$.customer.phones[*].number") List<String> phones) {
+        this.name = name;
+        this.surname = surname;
+        this.age = age;
+        this.phones = phones;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSurname() {
+        return surname;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public List<String> getPhones() {
+        return phones;
+    }
+}
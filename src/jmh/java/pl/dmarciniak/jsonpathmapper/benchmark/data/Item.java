@@ -0,0 +1,34 @@
+package pl.dmarciniak.jsonpathmapper.benchmark.data;
+
+/**
+ * Element of items array of documents created by JsonDocumentGenerator
+ */
+public class Item {
+    private Integer id;
+    private Double price;
+    private String category;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
@@ -0,0 +1,88 @@
+package pl.dmarciniak.jsonpathmapper.benchmark.data;
+
+import java.util.List;
+
+/**
+ * Target class for documents created by JsonDocumentGenerator
+ */
+public class Order {
+    private Integer id;
+    private String customerName;
+    private Integer customerAge;
+    private Integer deepValue;
+    private List<Double> prices;
+    private List<Item> items;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Order withId(Integer id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+    }
+
+    public Order withCustomerName(String customerName) {
+        this.customerName = customerName;
+        return this;
+    }
+
+    public Integer getCustomerAge() {
+        return customerAge;
+    }
+
+    public void setCustomerAge(Integer customerAge) {
+        this.customerAge = customerAge;
+    }
+
+    public Order withCustomerAge(Integer customerAge) {
+        this.customerAge = customerAge;
+        return this;
+    }
+
+    public Integer getDeepValue() {
+        return deepValue;
+    }
+
+    public void setDeepValue(Integer deepValue) {
+        this.deepValue = deepValue;
+    }
+
+    public Order withDeepValue(Integer deepValue) {
+        this.deepValue = deepValue;
+        return this;
+    }
+
+    public List<Double> getPrices() {
+        return prices;
+    }
+
+    public void setPrices(List<Double> prices) {
+        this.prices = prices;
+    }
+
+    public Order withPrices(List<Double> prices) {
+        this.prices = prices;
+        return this;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+}
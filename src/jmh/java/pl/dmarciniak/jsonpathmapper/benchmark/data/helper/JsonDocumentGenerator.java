@@ -0,0 +1,135 @@
+package pl.dmarciniak.jsonpathmapper.benchmark.data.helper;
+
+import java.util.Random;
+
+/**
+ * Generator of json documents for benchmarks. Document has customer object, nested objects,
+ * object with attributes (only every n-th attribute is present) and array of items filling document to given size:
+ * <pre>
+ * {
+ *   "id": 1,
+ *   "customer": {"name": "Name1", "surname": "Surname1", "age": 18, "accountCreated": "1988-11-20"},
+ *   "nested": {"level1": {"level2": {"value": 2}}},
+ *   "attributes": {"a0": "value0", "a1": "value1"},
+ *   "items": [{"id": 0, "price": 12.5, "category": "cat0", "active": true, "tags": ["tag0", "tag1"]}]
+ * }
+ * </pre>
+ * The same parameters (and seed) give always the same document.
+ */
+public final class JsonDocumentGenerator {
+
+    public static final int CATEGORIES = 5;
+
+    private int size = 1024;
+    private int depth = 5;
+    private int attributes = 10;
+    private int presentEvery = 1;
+    private long seed = 42;
+
+    private JsonDocumentGenerator() {
+    }
+
+    public static JsonDocumentGenerator document() {
+        return new JsonDocumentGenerator();
+    }
+
+    /**
+     * @param size minimal size of document, e.g. "800", "1KB", "10MB"
+     */
+    public JsonDocumentGenerator size(String size) {
+        this.size = parseSize(size);
+        return this;
+    }
+
+    /**
+     * @param depth number of nested objects
+     */
+    public JsonDocumentGenerator depth(int depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * @param attributes number of attributes (width of document)
+     */
+    public JsonDocumentGenerator attributes(int attributes) {
+        this.attributes = attributes;
+        return this;
+    }
+
+    /**
+     * @param presentEvery only every n-th attribute exists in document (1 - all attributes exist)
+     */
+    public JsonDocumentGenerator presentEvery(int presentEvery) {
+        this.presentEvery = presentEvery;
+        return this;
+    }
+
+    public JsonDocumentGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public String generate() {
+        Random random = new Random(seed);
+        StringBuilder json = new StringBuilder(size + 256);
+        json.append("{\"id\": ").append(random.nextInt(1000))
+                .append(", \"customer\": {\"name\": \"Name").append(random.nextInt(1000))
+                .append("\", \"surname\": \"Surname").append(random.nextInt(1000))
+                .append("\", \"age\": ").append(18 + random.nextInt(60))
+                .append(", \"accountCreated\": \"19").append(10 + random.nextInt(90)).append("-11-20\"}");
+
+        json.append(", \"nested\": ");
+        for (int level = 1; level <= depth; ++level) {
+            json.append("{\"level").append(level).append("\": ");
+        }
+        json.append("{\"value\": ").append(depth).append('}');
+        for (int level = 1; level <= depth; ++level) {
+            json.append('}');
+        }
+
+        json.append(", \"attributes\": {");
+        for (int i = 0; i < attributes; i += presentEvery) {
+            json.append(i == 0 ? "" : ", ").append("\"a").append(i).append("\": \"value").append(i).append('"');
+        }
+        json.append("}, \"items\": [");
+        for (int i = 0; json.length() < size - 3; ++i) {
+            json.append(i == 0 ? "" : ", ")
+                    .append("{\"id\": ").append(i)
+                    .append(", \"price\": ").append(1 + random.nextInt(10_000) / 100.0)
+                    .append(", \"category\": \"cat").append(i % CATEGORIES)
+                    .append("\", \"active\": ").append(random.nextBoolean())
+                    .append(", \"tags\": [\"tag").append(random.nextInt(100)).append("\", \"tag").append(random.nextInt(100)).append("\"]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * @return definite path of value of the deepest nested object
+     */
+    public static String deepPath(int depth) {
+        StringBuilder path = new StringBuilder("$.nested");
+        for (int level = 1; level <= depth; ++level) {
+            path.append(".level").append(level);
+        }
+        return path.append(".value").toString();
+    }
+
+    /**
+     * @return path of attribute with given index
+     */
+    public static String attributePath(int index) {
+        return "$.attributes.a" + index;
+    }
+
+    private static int parseSize(String size) {
+        String upperSize = size.trim().toUpperCase();
+        if (upperSize.endsWith("MB")) {
+            return Integer.parseInt(upperSize.substring(0, upperSize.length() - 2)) * 1024 * 1024;
+        }
+        if (upperSize.endsWith("KB")) {
+            return Integer.parseInt(upperSize.substring(0, upperSize.length() - 2)) * 1024;
+        }
+        return Integer.parseInt(upperSize);
+    }
+}
@@ -0,0 +1,213 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Maps many json documents in parallel.
+ * Documents are read from source iterator by consuming thread and mapped in chunks on given executor,
+ * number of chunks in progress is bounded, so batch of any size is mapped in constant memory.
+ * Consuming thread maps chunks which aren't started yet instead of waiting for them.
+ */
+final class BatchExecution {
+
+    static final BatchExecution DEFAULT = new BatchExecution(ForkJoinPool.commonPool(), 0, true);
+
+    private static final int DEFAULT_CHUNK_SIZE = 16;
+
+    private final Executor executor;
+    private final int chunkSize;
+    private final boolean ordered;
+
+    /**
+     * @param executor executor for chunks of documents
+     * @param chunkSize number of documents in single task, 0 for default
+     * @param ordered true to return results in order of documents, false to return them as soon as they are mapped
+     */
+    BatchExecution(Executor executor, int chunkSize, boolean ordered) {
+        this.executor = executor;
+        this.chunkSize = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Map documents lazily, mapping starts when first result is requested
+     * @param documents source json documents
+     * @param workerFactory creates function mapping single document, called once per chunk
+     *                      so function can reuse its own scratch state
+     * @param <D> type of json document
+     * @param <T> type of target class
+     * @return iterator of results
+     */
+    <D, T> Iterator<MappingResult<T>> execute(Iterator<D> documents, Supplier<Function<D, T>> workerFactory) {
+        return new BatchIterator<>(documents, workerFactory);
+    }
+
+    private int maxChunksInProgress() {
+        int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+        return Math.max(2, parallelism * 2);
+    }
+
+    /**
+     * Iterator returning results of chunks: in ordered mode chunks are taken in order of submission,
+     * otherwise in order of completion (completed chunks are queued)
+     */
+    private final class BatchIterator<D, T> implements Iterator<MappingResult<T>> {
+        private final Iterator<D> documents;
+        private final Supplier<Function<D, T>> workerFactory;
+        private final int maxChunks = maxChunksInProgress();
+        private final ArrayDeque<Chunk<D, T>> inProgress = new ArrayDeque<>();
+        private final LinkedBlockingQueue<Chunk<D, T>> completed = ordered ? null : new LinkedBlockingQueue<>();
+        private List<MappingResult<T>> results = new ArrayList<>();
+        private int resultIndex;
+        private long nextDocumentIndex;
+
+        private BatchIterator(Iterator<D> documents, Supplier<Function<D, T>> workerFactory) {
+            this.documents = documents;
+            this.workerFactory = workerFactory;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (resultIndex == results.size()) {
+                submitChunks();
+                if (inProgress.isEmpty()) {
+                    return false;
+                }
+                results = ordered ? takeFirstChunk() : takeAnyChunk();
+                resultIndex = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public MappingResult<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return results.get(resultIndex++);
+        }
+
+        private void submitChunks() {
+            while (inProgress.size() < maxChunks && documents.hasNext()) {
+                List<D> chunkDocuments = new ArrayList<>(chunkSize);
+                for (int i = 0; i < chunkSize && documents.hasNext(); ++i) {
+                    chunkDocuments.add(documents.next());
+                }
+                Chunk<D, T> chunk = new Chunk<>(nextDocumentIndex, chunkDocuments, workerFactory, completed);
+                nextDocumentIndex += chunkDocuments.size();
+                inProgress.add(chunk);
+                executor.execute(chunk);
+            }
+        }
+
+        private List<MappingResult<T>> takeFirstChunk() {
+            Chunk<D, T> chunk = inProgress.poll();
+            chunk.run();
+            return chunk.join();
+        }
+
+        private List<MappingResult<T>> takeAnyChunk() {
+            Chunk<D, T> chunk = completed.poll();
+            if (chunk == null) {
+                for (Chunk<D, T> notStarted : inProgress) {
+                    if (notStarted.tryRun()) {
+                        break;
+                    }
+                }
+                chunk = takeCompleted();
+            }
+            inProgress.remove(chunk);
+            return chunk.join();
+        }
+
+        private Chunk<D, T> takeCompleted() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return completed.take();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static final class Chunk<D, T> implements Runnable {
+        private final long firstIndex;
+        private final List<D> documents;
+        private final Supplier<Function<D, T>> workerFactory;
+        private final LinkedBlockingQueue<Chunk<D, T>> completed;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CompletableFuture<List<MappingResult<T>>> results = new CompletableFuture<>();
+
+        private Chunk(long firstIndex, List<D> documents, Supplier<Function<D, T>> workerFactory, LinkedBlockingQueue<Chunk<D, T>> completed) {
+            this.firstIndex = firstIndex;
+            this.documents = documents;
+            this.workerFactory = workerFactory;
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            tryRun();
+        }
+
+        /**
+         * Map documents of chunk if it isn't started yet
+         * @return true when chunk was mapped by this call
+         */
+        private boolean tryRun() {
+            if (!started.compareAndSet(false, true)) {
+                return false;
+            }
+            try {
+                Function<D, T> worker = workerFactory.get();
+                List<MappingResult<T>> chunkResults = new ArrayList<>(documents.size());
+                for (int i = 0; i < documents.size(); ++i) {
+                    try {
+                        chunkResults.add(MappingResult.success(firstIndex + i, worker.apply(documents.get(i))));
+                    } catch (RuntimeException e) {
+                        chunkResults.add(MappingResult.failure(firstIndex + i, e));
+                    }
+                }
+                results.complete(chunkResults);
+            } catch (Throwable e) {
+                results.completeExceptionally(e);
+            } finally {
+                if (completed != null) {
+                    completed.add(this);
+                }
+            }
+            return true;
+        }
+
+        private List<MappingResult<T>> join() {
+            try {
+                return results.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
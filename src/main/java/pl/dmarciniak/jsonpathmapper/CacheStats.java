@@ -0,0 +1,69 @@
+package pl.dmarciniak.jsonpathmapper;
+
+/**
+ * Statistics of cache of mapped results (see JsonPathMapperBuilder.cacheResults)
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long size;
+    private final long weight;
+
+    CacheStats(long hits, long misses, long evictions, long size, long weight) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return number of documents found in cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of documents not found in cache (mapped and cached)
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of documents evicted from cache
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return number of cached documents
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return total length of cached documents
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return part of documents found in cache, 0 when nothing was mapped
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats[hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size + ", weight=" + weight + "]";
+    }
+}
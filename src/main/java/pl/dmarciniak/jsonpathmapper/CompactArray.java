@@ -0,0 +1,100 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Json array of CompactJsonProvider: values are kept in array,
+ * strings and numbers of parsed json are decoded from source on first access.
+ */
+final class CompactArray extends AbstractList<Object> implements RandomAccess {
+
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final String source;
+    private Object[] values = NO_VALUES;
+    private int[] offsets;
+    private int size;
+
+    /**
+     * @param source parsed json for lazily decoded values, null for array created by provider
+     */
+    CompactArray(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Add value not decoded yet (used by parser)
+     * @param offset position of value in source
+     */
+    void addLazy(int offset) {
+        add(CompactJsonParser.LAZY);
+        if (offsets == null) {
+            offsets = new int[values.length];
+        }
+        offsets[size - 1] = offset;
+    }
+
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        Object value = values[index];
+        if (value == CompactJsonParser.LAZY) {
+            value = CompactJsonParser.decode(source, offsets[index]);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public Object set(int index, Object value) {
+        Object previous = get(index);
+        values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Object value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == values.length) {
+            int capacity = Math.max(4, size * 2);
+            values = Arrays.copyOf(values, capacity);
+            if (offsets != null) {
+                offsets = Arrays.copyOf(offsets, capacity);
+            }
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        if (offsets != null) {
+            System.arraycopy(offsets, index, offsets, index + 1, size - index);
+        }
+        values[index] = value;
+        ++size;
+        ++modCount;
+    }
+
+    @Override
+    public Object remove(int index) {
+        Object previous = get(index);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        if (offsets != null) {
+            System.arraycopy(offsets, index + 1, offsets, index, size - index - 1);
+        }
+        values[--size] = null;
+        ++modCount;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import com.jayway.jsonpath.InvalidJsonException;
+
+/**
+ * Parser of json String into CompactObject and CompactArray.
+ * Whole json is validated while parsing, but strings and numbers inside objects and arrays
+ * are only located: they are decoded from source when they are accessed for the first time.
+ */
+final class CompactJsonParser {
+
+    /**
+     * Marker of value which isn't decoded yet
+     */
+    static final Object LAZY = new Object();
+
+    private final String source;
+    private final int length;
+    private int pos;
+
+    private CompactJsonParser(String source) {
+        this.source = source;
+        this.length = source.length();
+    }
+
+    /**
+     * Parse json
+     * @param json source json
+     * @return CompactObject, CompactArray, String, Number, Boolean or null
+     * @throws InvalidJsonException when json is malformed
+     */
+    static Object parse(String json) {
+        CompactJsonParser parser = new CompactJsonParser(json);
+        Object value = parser.readValue();
+        parser.skipWhitespaces();
+        if (parser.pos < parser.length) {
+            throw parser.error("Unexpected character after json: " + json.charAt(parser.pos));
+        }
+        return value;
+    }
+
+    /**
+     * Decode string or number located by parser
+     * @param source parsed json
+     * @param offset position of value
+     * @return String or Number
+     */
+    static Object decode(String source, int offset) {
+        return source.charAt(offset) == '"' ? decodeString(source, offset) : decodeNumber(source, offset);
+    }
+
+    private Object readValue() {
+        skipWhitespaces();
+        char c = current();
+        if (c == '{') {
+            return readObject();
+        } else if (c == '[') {
+            return readArray();
+        } else if (c == '"') {
+            int start = pos;
+            skipString();
+            return decodeString(source, start);
+        } else if (c == 't' || c == 'f' || c == 'n') {
+            return readLiteral();
+        }
+        int start = pos;
+        skipNumber();
+        return decodeNumber(source, start);
+    }
+
+    private CompactObject readObject() {
+        CompactObject object = new CompactObject(source);
+        ++pos;
+        skipWhitespaces();
+        if (current() == '}') {
+            ++pos;
+            return object;
+        }
+        while (true) {
+            skipWhitespaces();
+            if (current() != '"') {
+                throw error("Expected name of object entry");
+            }
+            int keyStart = pos;
+            skipString();
+            String key = decodeString(source, keyStart);
+            skipWhitespaces();
+            if (current() != ':') {
+                throw error("Expected ':'");
+            }
+            ++pos;
+            skipWhitespaces();
+            char c = current();
+            if (c == '{') {
+                object.put(key, readObject());
+            } else if (c == '[') {
+                object.put(key, readArray());
+            } else if (c == 't' || c == 'f' || c == 'n') {
+                object.put(key, readLiteral());
+            } else {
+                object.putLazy(key, skipLeaf());
+            }
+            skipWhitespaces();
+            c = current();
+            ++pos;
+            if (c == '}') {
+                return object;
+            } else if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private CompactArray readArray() {
+        CompactArray array = new CompactArray(source);
+        ++pos;
+        skipWhitespaces();
+        if (current() == ']') {
+            ++pos;
+            return array;
+        }
+        while (true) {
+            skipWhitespaces();
+            char c = current();
+            if (c == '{') {
+                array.add(readObject());
+            } else if (c == '[') {
+                array.add(readArray());
+            } else if (c == 't' || c == 'f' || c == 'n') {
+                array.add(readLiteral());
+            } else {
+                array.addLazy(skipLeaf());
+            }
+            skipWhitespaces();
+            c = current();
+            ++pos;
+            if (c == ']') {
+                return array;
+            } else if (c != ',') {
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Validate string or number without decoding it
+     * @return position of value
+     */
+    private int skipLeaf() {
+        int start = pos;
+        if (current() == '"') {
+            skipString();
+        } else {
+            skipNumber();
+        }
+        return start;
+    }
+
+    private Object readLiteral() {
+        char c = source.charAt(pos);
+        pos = scanLiteral(source, pos);
+        return c == 't' ? Boolean.TRUE : c == 'f' ? Boolean.FALSE : null;
+    }
+
+    private void skipString() {
+        pos = scanString(source, pos);
+    }
+
+    private void skipNumber() {
+        pos = scanNumber(source, pos);
+    }
+
+    private void skipWhitespaces() {
+        pos = skipWhitespaces(source, pos);
+    }
+
+    private char current() {
+        if (pos >= length) {
+            throw error("Unexpected end of json", pos);
+        }
+        return source.charAt(pos);
+    }
+
+    private InvalidJsonException error(String message) {
+        return error(message, pos);
+    }
+
+    /**
+     * Validate literal (true, false or null)
+     * @param source json
+     * @param pos position of literal
+     * @return position after literal
+     */
+    static int scanLiteral(String source, int pos) {
+        String literal = source.startsWith("true", pos) ? "true" : source.startsWith("false", pos) ? "false"
+                : source.startsWith("null", pos) ? "null" : null;
+        if (literal == null) {
+            throw error("Unexpected token", pos);
+        }
+        return checkTokenEnd(source, pos + literal.length());
+    }
+
+    /**
+     * Validate string (with escape sequences)
+     * @param source json
+     * @param pos position of opening quote
+     * @return position after closing quote
+     */
+    static int scanString(String source, int pos) {
+        int length = source.length();
+        ++pos;
+        while (pos < length) {
+            char c = source.charAt(pos++);
+            if (c == '"') {
+                return pos;
+            } else if (c == '\\') {
+                if (pos >= length) {
+                    break;
+                }
+                char escape = source.charAt(pos++);
+                if (escape == 'u') {
+                    for (int i = 0; i < 4; ++i) {
+                        if (pos >= length || Character.digit(source.charAt(pos++), 16) < 0) {
+                            throw error("Wrong unicode escape", pos);
+                        }
+                    }
+                } else if ("\"\\/bfnrt".indexOf(escape) < 0) {
+                    throw error("Wrong escape character: " + escape, pos);
+                }
+            }
+        }
+        throw error("Unterminated string", pos);
+    }
+
+    /**
+     * Validate number
+     * @param source json
+     * @param pos position of first character of number
+     * @return position after number
+     */
+    static int scanNumber(String source, int pos) {
+        int length = source.length();
+        if (pos < length && source.charAt(pos) == '-') {
+            ++pos;
+        }
+        if (pos + 1 < length && source.charAt(pos) == '0' && isDigit(source.charAt(pos + 1))) {
+            throw error("Leading zero in number", pos);
+        }
+        pos = scanDigits(source, pos);
+        if (pos < length && source.charAt(pos) == '.') {
+            pos = scanDigits(source, pos + 1);
+        }
+        if (pos < length && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+            ++pos;
+            if (pos < length && (source.charAt(pos) == '+' || source.charAt(pos) == '-')) {
+                ++pos;
+            }
+            pos = scanDigits(source, pos);
+        }
+        return checkTokenEnd(source, pos);
+    }
+
+    static int skipWhitespaces(String source, int pos) {
+        while (pos < source.length() && isWhitespace(source.charAt(pos))) {
+            ++pos;
+        }
+        return pos;
+    }
+
+    static InvalidJsonException error(String message, int pos) {
+        return new InvalidJsonException(message + " at position " + pos);
+    }
+
+    private static int scanDigits(String source, int pos) {
+        int start = pos;
+        while (pos < source.length() && isDigit(source.charAt(pos))) {
+            ++pos;
+        }
+        if (pos == start) {
+            throw error(pos < source.length() ? "Unexpected character: " + source.charAt(pos) : "Unexpected end of json", pos);
+        }
+        return pos;
+    }
+
+    private static int checkTokenEnd(String source, int pos) {
+        if (pos < source.length()) {
+            char c = source.charAt(pos);
+            if (c != ',' && c != '}' && c != ']' && !isWhitespace(c)) {
+                throw error("Unexpected character: " + c, pos);
+            }
+        }
+        return pos;
+    }
+
+    private static String decodeString(String source, int offset) {
+        int start = offset + 1;
+        for (int i = start; ; ++i) {
+            char c = source.charAt(i);
+            if (c == '"') {
+                return source.substring(start, i);
+            } else if (c == '\\') {
+                return decodeEscapedString(source, start);
+            }
+        }
+    }
+
+    private static String decodeEscapedString(String source, int start) {
+        StringBuilder text = new StringBuilder();
+        for (int i = start; ; ++i) {
+            char c = source.charAt(i);
+            if (c == '"') {
+                return text.toString();
+            } else if (c != '\\') {
+                text.append(c);
+                continue;
+            }
+            char escape = source.charAt(++i);
+            switch (escape) {
+                case 'b':
+                    text.append('\b');
+                    break;
+                case 'f':
+                    text.append('\f');
+                    break;
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'u':
+                    text.append((char) Integer.parseInt(source.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    text.append(escape);
+            }
+        }
+    }
+
+    /**
+     * Decode number, integers up to 18 characters are decoded without creating token String
+     */
+    private static Number decodeNumber(String source, int offset) {
+        int end = offset;
+        boolean integer = true;
+        while (end < source.length()) {
+            char c = source.charAt(end);
+            if (c == '.' || c == 'e' || c == 'E') {
+                integer = false;
+            } else if (!isDigit(c) && c != '-' && c != '+') {
+                break;
+            }
+            ++end;
+        }
+        if (integer && end - offset <= 18) {
+            boolean negative = source.charAt(offset) == '-';
+            long value = 0;
+            for (int i = negative ? offset + 1 : offset; i < end; ++i) {
+                value = value * 10 + (source.charAt(i) - '0');
+            }
+            value = negative ? -value : value;
+            return value == (int) value ? (Number) (int) value : (Number) value;
+        }
+        return JsonTokenReader.toNumber(source.substring(offset, end));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
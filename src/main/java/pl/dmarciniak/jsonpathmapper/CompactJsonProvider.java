@@ -0,0 +1,241 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight json provider for read-mostly mapping.
+ * Objects and arrays keep values in plain arrays instead of hash maps and linked nodes,
+ * and strings and numbers are decoded only when they are read by path
+ * (not read values of document are never created).
+ * Returned objects are java.util.Map and java.util.List, but not the json-smart types of default provider.
+ * Parser works on String (lazy values are offsets into it), so provider is meant for String input:
+ * byte[], ByteBuffer and InputStream input is first read fully and decoded into String.
+ */
+public final class CompactJsonProvider implements JsonProvider {
+
+    @Override
+    public Object parse(String json) throws InvalidJsonException {
+        return CompactJsonParser.parse(json);
+    }
+
+    /**
+     * Read whole stream and parse it as String (stream content is copied twice: into buffer and into String)
+     */
+    @Override
+    public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read; (read = jsonStream.read(buffer)) >= 0; ) {
+                out.write(buffer, 0, read);
+            }
+            return CompactJsonParser.parse(out.toString(charset));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toJson(Object obj) {
+        StringBuilder json = new StringBuilder();
+        writeJson(obj, json);
+        return json.toString();
+    }
+
+    @Override
+    public Object createArray() {
+        return new CompactArray(null);
+    }
+
+    @Override
+    public Object createMap() {
+        return new CompactObject(null);
+    }
+
+    @Override
+    public boolean isArray(Object obj) {
+        return obj instanceof List;
+    }
+
+    @Override
+    public int length(Object obj) {
+        if (obj instanceof List) {
+            return ((List<?>) obj).size();
+        } else if (obj instanceof Map) {
+            return ((Map<?, ?>) obj).size();
+        } else if (obj instanceof String) {
+            return ((String) obj).length();
+        }
+        throw new JsonPathException("length operation cannot be applied to " + typeName(obj));
+    }
+
+    @Override
+    public Iterable<?> toIterable(Object obj) {
+        if (obj instanceof List) {
+            return (List<?>) obj;
+        }
+        throw new JsonPathException("Cannot iterate over " + typeName(obj));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<String> getPropertyKeys(Object obj) {
+        if (obj instanceof Map) {
+            return ((Map<String, ?>) obj).keySet();
+        }
+        throw new UnsupportedOperationException("Cannot get property keys of " + typeName(obj));
+    }
+
+    @Override
+    public Object getArrayIndex(Object obj, int idx) {
+        return ((List<?>) obj).get(idx);
+    }
+
+    @Override
+    @Deprecated
+    public Object getArrayIndex(Object obj, int idx, boolean unwrap) {
+        return getArrayIndex(obj, idx);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setArrayIndex(Object array, int idx, Object newValue) {
+        if (!(array instanceof List)) {
+            throw new UnsupportedOperationException("Cannot set index of " + typeName(array));
+        }
+        List<Object> list = (List<Object>) array;
+        if (idx == list.size()) {
+            list.add(newValue);
+        } else {
+            list.set(idx, newValue);
+        }
+    }
+
+    @Override
+    public Object getMapValue(Object obj, String key) {
+        if (obj instanceof CompactObject) {
+            CompactObject object = (CompactObject) obj;
+            int i = object.indexOf(key);
+            return i < 0 ? UNDEFINED : object.valueAt(i);
+        }
+        Map<?, ?> map = (Map<?, ?>) obj;
+        Object value = map.get(key);
+        return value == null && !map.containsKey(key) ? UNDEFINED : value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setProperty(Object obj, Object key, Object value) {
+        if (obj instanceof Map) {
+            ((Map<String, Object>) obj).put(key.toString(), value);
+        } else if (obj instanceof List) {
+            int index = key instanceof Integer ? (Integer) key : Integer.parseInt(key.toString());
+            setArrayIndex(obj, index, value);
+        } else {
+            throw new JsonPathException("setProperty operation cannot be used with " + typeName(obj));
+        }
+    }
+
+    @Override
+    public void removeProperty(Object obj, Object key) {
+        if (obj instanceof Map) {
+            ((Map<?, ?>) obj).remove(key.toString());
+        } else if (obj instanceof List) {
+            int index = key instanceof Integer ? (Integer) key : Integer.parseInt(key.toString());
+            ((List<?>) obj).remove(index);
+        } else {
+            throw new JsonPathException("removeProperty operation cannot be used with " + typeName(obj));
+        }
+    }
+
+    @Override
+    public boolean isMap(Object obj) {
+        return obj instanceof Map;
+    }
+
+    @Override
+    public Object unwrap(Object obj) {
+        return obj;
+    }
+
+    private static void writeJson(Object value, StringBuilder json) {
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof String) {
+            writeString((String) value, json);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else if (value instanceof Map) {
+            json.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                writeString(String.valueOf(entry.getKey()), json);
+                json.append(':');
+                writeJson(entry.getValue(), json);
+            }
+            json.append('}');
+        } else if (value instanceof Iterable) {
+            json.append('[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                writeJson(element, json);
+            }
+            json.append(']');
+        } else {
+            writeString(value.toString(), json);
+        }
+    }
+
+    private static void writeString(String value, StringBuilder json) {
+        json.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    private static String typeName(Object obj) {
+        return obj == null ? "null" : obj.getClass().getName();
+    }
+}
@@ -0,0 +1,213 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Json object of CompactJsonProvider: keys and values are kept in arrays (in order of json),
+ * strings and numbers of parsed json are decoded from source on first access.
+ * Small objects are searched linearly, bigger ones have hash index of keys.
+ */
+final class CompactObject extends AbstractMap<String, Object> {
+
+    private static final int INDEX_THRESHOLD = 8;
+    private static final String[] NO_KEYS = new String[0];
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final String source;
+    private String[] keys = NO_KEYS;
+    private Object[] values = NO_VALUES;
+    private int[] offsets;
+    private int size;
+    private Map<String, Integer> index;
+
+    /**
+     * @param source parsed json for lazily decoded values, null for object created by provider
+     */
+    CompactObject(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Add value not decoded yet (used by parser)
+     * @param key key of entry
+     * @param offset position of value in source
+     */
+    void putLazy(String key, int offset) {
+        int i = indexOf(key);
+        if (i < 0) {
+            append(key, CompactJsonParser.LAZY);
+            i = size - 1;
+        } else {
+            values[i] = CompactJsonParser.LAZY;
+        }
+        if (offsets == null) {
+            offsets = new int[keys.length];
+        }
+        offsets[i] = offset;
+    }
+
+    int indexOf(Object key) {
+        if (index != null) {
+            Integer i = index.get(key);
+            return i == null ? -1 : i;
+        }
+        for (int i = 0; i < size; ++i) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Object valueAt(int i) {
+        Object value = values[i];
+        if (value == CompactJsonParser.LAZY) {
+            value = CompactJsonParser.decode(source, offsets[i]);
+            values[i] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int i = indexOf(key);
+        return i < 0 ? null : valueAt(i);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int i = indexOf(key);
+        if (i >= 0) {
+            Object previous = valueAt(i);
+            values[i] = value;
+            return previous;
+        }
+        append(key, value);
+        return null;
+    }
+
+    private void append(String key, Object value) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            if (offsets != null) {
+                offsets = Arrays.copyOf(offsets, capacity);
+            }
+        }
+        keys[size] = key;
+        values[size] = value;
+        if (index != null) {
+            index.put(key, size);
+        }
+        ++size;
+        if (index == null && size > INDEX_THRESHOLD) {
+            buildIndex();
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        Object previous = valueAt(i);
+        removeAt(i);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void removeAt(int i) {
+        int moved = size - i - 1;
+        System.arraycopy(keys, i + 1, keys, i, moved);
+        System.arraycopy(values, i + 1, values, i, moved);
+        if (offsets != null) {
+            System.arraycopy(offsets, i + 1, offsets, i, moved);
+        }
+        --size;
+        keys[size] = null;
+        values[size] = null;
+        index = null;
+        if (size > INDEX_THRESHOLD) {
+            buildIndex();
+        }
+    }
+
+    private void buildIndex() {
+        Map<String, Integer> newIndex = new HashMap<>(size * 2);
+        for (int i = 0; i < size; ++i) {
+            newIndex.put(keys[i], i);
+        }
+        index = newIndex;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int next;
+        private int expectedSize = size;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (expectedSize != size) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            int i = next++;
+            return new SimpleEntry<String, Object>(keys[i], valueAt(i)) {
+                @Override
+                public Object setValue(Object value) {
+                    values[i] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (next == 0 || expectedSize != size) {
+                throw new IllegalStateException();
+            }
+            removeAt(--next);
+            expectedSize = size;
+        }
+    }
+}
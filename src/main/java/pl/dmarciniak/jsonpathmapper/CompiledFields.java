@@ -0,0 +1,165 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldCastException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldValidatorException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fields of mapper compiled at build time into class with straight-line code per field.
+ * Each field has its own call sites of validator, mapper and setter, so they stay monomorphic
+ * and can be inlined by JIT (shared call sites in FieldMapper see all lambdas of all mappers).
+ * Generated class is defined as hidden class (java 15+), class of this package (java 9+)
+ * or anonymous class (java 8), when none of them is possible mapper works without generated code.
+ * Invalid generated bytecode isn't hidden by this fallback, its LinkageError is thrown while mapper is built.
+ * Hidden and anonymous classes are unloaded together with mapper, but class defined in this package (java 9 - 14)
+ * stays loaded as long as class loader of this library, so mappers with generated bytecode should be built once
+ * and reused instead of being built per request.
+ */
+abstract class CompiledFields {
+
+    /**
+     * Maximal number of fields, code of fields is split into methods of CompiledFieldsGenerator.CHUNK_SIZE fields,
+     * but constructor storing functions of all fields is single method (about 50 bytes per field, limit is 64KB)
+     */
+    static final int MAX_FIELDS = 500;
+
+    private static final AtomicInteger GENERATED_CLASSES = new AtomicInteger();
+
+    /**
+     * Validate and map raw values of all fields (in order of field mappers), prepared values replace raw values
+     * @param values raw values, PathTrie.MISSING when field doesn't exist
+     */
+    public abstract void prepare(PathTrie.Values values);
+
+    /**
+     * Call setters with prepared values of fields in order of field mappers
+     * @param target instance of target class
+     * @param values prepared values
+     * @return instance of target class
+     */
+    public abstract Object apply(Object target, PathTrie.Values values);
+
+    /**
+     * Generate and load compiled fields
+     * @param fieldMappers field mappers of mapper
+     * @param primitiveTypes primitive types of fields (null for boxed values)
+     * @return compiled fields or null when code cannot be generated (too many fields) or defined (by this java)
+     * @throws LinkageError when generated bytecode is invalid (e.g. VerifyError), it's an error of generator
+     */
+    static CompiledFields compile(FieldMapper<Object, ?, ?>[] fieldMappers, PrimitiveType[] primitiveTypes) {
+        if (fieldMappers.length > MAX_FIELDS) {
+            return null;
+        }
+        String className = CompiledFields.class.getName() + "$Generated" + GENERATED_CLASSES.incrementAndGet();
+        CompiledFieldsGenerator generator = new CompiledFieldsGenerator(className, fieldMappers, primitiveTypes);
+        Class<?> type = define(generator.generate());
+        if (type == null) {
+            return null;
+        }
+        try {
+            return (CompiledFields) type.getConstructor(Object[].class).newInstance((Object) generator.functions());
+        } catch (InvocationTargetException e) {
+            throw rethrow(e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Generated class has no constructor: " + className, e);
+        }
+    }
+
+    /**
+     * @return defined class or null when this java doesn't allow to define class at runtime
+     */
+    private static Class<?> define(byte[] bytes) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Method defineHiddenClass = null;
+        Class<?> optionType = null;
+        try {
+            optionType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            defineHiddenClass = MethodHandles.Lookup.class.getMethod("defineHiddenClass", byte[].class, boolean.class, Array.newInstance(optionType, 0).getClass());
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            // java older than 15
+        }
+        if (defineHiddenClass != null) {
+            Object hiddenLookup = invoke(defineHiddenClass, lookup, bytes, true, Array.newInstance(optionType, 0));
+            return ((MethodHandles.Lookup) hiddenLookup).lookupClass();
+        }
+        try {
+            return (Class<?>) invoke(MethodHandles.Lookup.class.getMethod("defineClass", byte[].class), lookup, (Object) bytes);
+        } catch (NoSuchMethodException e) {
+            // java 8
+        }
+        Object unsafe;
+        Method defineAnonymousClass;
+        try {
+            Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeType.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            defineAnonymousClass = unsafeType.getMethod("defineAnonymousClass", Class.class, byte[].class, Object[].class);
+        } catch (ReflectiveOperationException | SecurityException e) {
+            return null;
+        }
+        return (Class<?>) invoke(defineAnonymousClass, unsafe, CompiledFields.class, bytes, null);
+    }
+
+    /**
+     * Call method defining class, exception thrown by definition (e.g. VerifyError) is thrown as is
+     */
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw rethrow(e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot call " + method.getName(), e);
+        }
+    }
+
+    private static RuntimeException rethrow(InvocationTargetException e) {
+        if (e.getCause() instanceof Error) {
+            throw (Error) e.getCause();
+        } else if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    /**
+     * Prepare value of primitive field (called by generated code)
+     */
+    static void preparePrimitive(FieldMapper<Object, ?, ?> fieldMapper, PathTrie.Values values, int slot) {
+        if (values.isPrimitive(slot)) {
+            values.replacePrimitive(slot, fieldMapper.preparePrimitive(values.getPrimitive(slot)));
+        } else if (values.get(slot) == PathTrie.MISSING) {
+            values.replace(slot, fieldMapper.prepare(PathTrie.MISSING));
+        } else {
+            values.replacePrimitive(slot, fieldMapper.preparePrimitive(fieldMapper.toPrimitive(values.get(slot))));
+        }
+    }
+
+    /**
+     * Set value of primitive field (called by generated code)
+     */
+    static Object applyPrimitive(FieldMapper<Object, ?, ?> fieldMapper, Object target, PathTrie.Values values, int slot) {
+        return values.isPrimitive(slot) ? fieldMapper.applyPrimitive(target, values.getPrimitive(slot)) : target;
+    }
+
+    /**
+     * Exception of not valid field (called by generated code)
+     */
+    static RuntimeException validationError(FieldMapper<Object, ?, ?> fieldMapper) {
+        return new JsonFieldValidatorException("Validator exception for path: " + fieldMapper.getPath());
+    }
+
+    /**
+     * Exception of wrong type of field (called by generated code)
+     */
+    static RuntimeException castError(ClassCastException e) {
+        return new JsonFieldCastException("Wrong type of json field", e);
+    }
+}
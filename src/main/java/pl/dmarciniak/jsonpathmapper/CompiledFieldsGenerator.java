@@ -0,0 +1,472 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generator of class file of CompiledFields: constructor takes functions of fields (see functions),
+ * prepare and apply methods have unrolled code of all fields. Code of many fields is split into private methods
+ * of CHUNK_SIZE fields called one by one, so no method exceeds size limit of JIT compilation (HugeMethodLimit, 8000 bytes).
+ * Class file version is 49, so code doesn't need stack map frames.
+ */
+final class CompiledFieldsGenerator {
+
+    /**
+     * Maximal number of fields in single method (about 70 bytes of bytecode per field)
+     */
+    static final int CHUNK_SIZE = 50;
+
+    private static final int CLASS_VERSION = 49;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final String OBJECT = "java/lang/Object";
+    private static final String BASE = "pl/dmarciniak/jsonpathmapper/CompiledFields";
+    private static final String VALUES = "pl/dmarciniak/jsonpathmapper/PathTrie$Values";
+    private static final String FIELD_MAPPER = "pl/dmarciniak/jsonpathmapper/FieldMapper";
+    private static final String PATH_TRIE = "pl/dmarciniak/jsonpathmapper/PathTrie";
+    private static final String PREPARE_DESCRIPTOR = "(L" + VALUES + ";)V";
+    private static final String APPLY_DESCRIPTOR = "(Ljava/lang/Object;L" + VALUES + ";)Ljava/lang/Object;";
+    private static final String[] FUNCTION_TYPES = {
+            FIELD_MAPPER, "java/util/function/Predicate", "java/util/function/Function", "java/util/function/BiFunction"
+    };
+    private static final char[] FUNCTION_PREFIXES = {'f', 'v', 'm', 's'};
+    private static final int FIELD_MAPPER_FUNCTION = 0;
+    private static final int VALIDATOR_FUNCTION = 1;
+    private static final int MAPPER_FUNCTION = 2;
+    private static final int SETTER_FUNCTION = 3;
+
+    private final String className;
+    private final FieldMapper<Object, ?, ?>[] fieldMappers;
+    private final PrimitiveType[] primitiveTypes;
+    private final Object[] functions;
+    private final ConstantPool pool = new ConstantPool();
+
+    CompiledFieldsGenerator(String className, FieldMapper<Object, ?, ?>[] fieldMappers, PrimitiveType[] primitiveTypes) {
+        this.className = className.replace('.', '/');
+        this.fieldMappers = fieldMappers;
+        this.primitiveTypes = primitiveTypes;
+        this.functions = new Object[fieldMappers.length * FUNCTION_TYPES.length];
+        for (int i = 0; i < fieldMappers.length; ++i) {
+            functions[function(i, FIELD_MAPPER_FUNCTION)] = fieldMappers[i];
+            if (primitiveTypes[i] == null) {
+                functions[function(i, VALIDATOR_FUNCTION)] = fieldMappers[i].getValidator();
+                functions[function(i, MAPPER_FUNCTION)] = fieldMappers[i].getMapper();
+                functions[function(i, SETTER_FUNCTION)] = fieldMappers[i].getSetter();
+            }
+        }
+    }
+
+    /**
+     * Functions of fields passed to constructor of generated class: field mapper, validator, mapper and setter of each field
+     * (null when field doesn't need it)
+     */
+    Object[] functions() {
+        return functions;
+    }
+
+    /**
+     * @return class file
+     */
+    byte[] generate() {
+        List<byte[]> methods = new ArrayList<>();
+        methods.add(method(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", constructor(), 2));
+        int chunks = (fieldMappers.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (chunks <= 1) {
+            methods.add(method(ACC_PUBLIC, "prepare", PREPARE_DESCRIPTOR, prepare(0, fieldMappers.length), 3));
+            methods.add(method(ACC_PUBLIC, "apply", APPLY_DESCRIPTOR, apply(0, fieldMappers.length), 4));
+        } else {
+            methods.add(method(ACC_PUBLIC, "prepare", PREPARE_DESCRIPTOR, prepareChunks(chunks), 2));
+            methods.add(method(ACC_PUBLIC, "apply", APPLY_DESCRIPTOR, applyChunks(chunks), 3));
+            for (int chunk = 0; chunk < chunks; ++chunk) {
+                int from = chunk * CHUNK_SIZE;
+                int to = Math.min(from + CHUNK_SIZE, fieldMappers.length);
+                methods.add(method(ACC_PRIVATE, "prepare" + chunk, PREPARE_DESCRIPTOR, prepare(from, to), 3));
+                methods.add(method(ACC_PRIVATE, "apply" + chunk, APPLY_DESCRIPTOR, apply(from, to), 4));
+            }
+        }
+        int thisClass = pool.classRef(className);
+        int superClass = pool.classRef(BASE);
+        List<int[]> fields = new ArrayList<>();
+        for (int i = 0; i < functions.length; ++i) {
+            if (functions[i] != null) {
+                fields.add(new int[]{pool.utf8(fieldName(i)), pool.utf8(fieldDescriptor(i))});
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            pool.write(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0);
+            out.writeShort(fields.size());
+            for (int[] field : fields) {
+                out.writeShort(ACC_PRIVATE | ACC_FINAL);
+                out.writeShort(field[0]);
+                out.writeShort(field[1]);
+                out.writeShort(0);
+            }
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * super(); then each used function is cast and stored in its own field
+     */
+    private Code constructor() {
+        Code code = new Code();
+        code.op(Code.ALOAD_0).op(Code.INVOKESPECIAL).u2(pool.methodRef(BASE, "<init>", "()V"));
+        for (int i = 0; i < functions.length; ++i) {
+            if (functions[i] != null) {
+                code.op(Code.ALOAD_0).op(Code.ALOAD_1).push(i).op(Code.AALOAD)
+                        .op(Code.CHECKCAST).u2(pool.classRef(FUNCTION_TYPES[i % FUNCTION_TYPES.length]))
+                        .op(Code.PUTFIELD).u2(field(i));
+            }
+        }
+        return code.op(Code.RETURN);
+    }
+
+    /**
+     * Call prepare methods of all chunks
+     */
+    private Code prepareChunks(int chunks) {
+        Code code = new Code();
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            code.op(Code.ALOAD_0).op(Code.ALOAD_1)
+                    .op(Code.INVOKESPECIAL).u2(pool.methodRef(className, "prepare" + chunk, PREPARE_DESCRIPTOR));
+        }
+        return code.op(Code.RETURN);
+    }
+
+    /**
+     * Call apply methods of all chunks, each of them returns instance of target class passed to the next one
+     */
+    private Code applyChunks(int chunks) {
+        Code code = new Code();
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            code.op(Code.ALOAD_0).op(Code.ALOAD_1).op(Code.ALOAD_2)
+                    .op(Code.INVOKESPECIAL).u2(pool.methodRef(className, "apply" + chunk, APPLY_DESCRIPTOR))
+                    .op(Code.ASTORE_1);
+        }
+        return code.op(Code.ALOAD_1).op(Code.ARETURN);
+    }
+
+    /**
+     * For each field: missing value is handled by FieldMapper.prepare, present value is validated and mapped
+     * by calls specific to this field (ClassCastException is reported as JsonFieldCastException)
+     */
+    private Code prepare(int from, int to) {
+        Code code = new Code();
+        for (int i = from; i < to; ++i) {
+            if (primitiveTypes[i] != null) {
+                loadFunction(code, i, FIELD_MAPPER_FUNCTION).op(Code.ALOAD_1).push(i)
+                        .op(Code.INVOKESTATIC).u2(pool.methodRef(BASE, "preparePrimitive", "(L" + FIELD_MAPPER + ";L" + VALUES + ";I)V"));
+                continue;
+            }
+            code.op(Code.ALOAD_1).push(i).op(Code.INVOKEVIRTUAL).u2(pool.methodRef(VALUES, "get", "(I)Ljava/lang/Object;"))
+                    .op(Code.ASTORE_2)
+                    .op(Code.ALOAD_2).op(Code.GETSTATIC).u2(pool.fieldRef(PATH_TRIE, "MISSING", "Ljava/lang/Object;"));
+            int present = code.jump(Code.IF_ACMPNE);
+            code.op(Code.ALOAD_1).push(i);
+            loadFunction(code, i, FIELD_MAPPER_FUNCTION).op(Code.ALOAD_2)
+                    .op(Code.INVOKEVIRTUAL).u2(pool.methodRef(FIELD_MAPPER, "prepare", "(Ljava/lang/Object;)Ljava/lang/Object;"))
+                    .op(Code.INVOKEVIRTUAL).u2(pool.methodRef(VALUES, "replace", "(ILjava/lang/Object;)V"));
+            int next = code.jump(Code.GOTO);
+            code.land(present);
+            int tryStart = code.position();
+            if (functions[function(i, VALIDATOR_FUNCTION)] != null) {
+                loadFunction(code, i, VALIDATOR_FUNCTION).op(Code.ALOAD_2)
+                        .op(Code.INVOKEINTERFACE).u2(pool.interfaceMethodRef(FUNCTION_TYPES[VALIDATOR_FUNCTION], "test", "(Ljava/lang/Object;)Z")).u1(2).u1(0);
+                int valid = code.jump(Code.IFNE);
+                loadFunction(code, i, FIELD_MAPPER_FUNCTION)
+                        .op(Code.INVOKESTATIC).u2(pool.methodRef(BASE, "validationError", "(L" + FIELD_MAPPER + ";)Ljava/lang/RuntimeException;"))
+                        .op(Code.ATHROW);
+                code.land(valid);
+            }
+            if (functions[function(i, MAPPER_FUNCTION)] != null) {
+                code.op(Code.ALOAD_1).push(i);
+                loadFunction(code, i, MAPPER_FUNCTION).op(Code.ALOAD_2)
+                        .op(Code.INVOKEINTERFACE).u2(pool.interfaceMethodRef(FUNCTION_TYPES[MAPPER_FUNCTION], "apply", "(Ljava/lang/Object;)Ljava/lang/Object;")).u1(2).u1(0)
+                        .op(Code.INVOKEVIRTUAL).u2(pool.methodRef(VALUES, "replace", "(ILjava/lang/Object;)V"));
+            }
+            code.tryBlock(tryStart, code.position());
+            code.land(next);
+        }
+        code.op(Code.RETURN);
+        castHandler(code);
+        return code;
+    }
+
+    /**
+     * For each field: existing prepared value is passed to setter of this field
+     */
+    private Code apply(int from, int to) {
+        Code code = new Code();
+        for (int i = from; i < to; ++i) {
+            if (primitiveTypes[i] != null) {
+                loadFunction(code, i, FIELD_MAPPER_FUNCTION).op(Code.ALOAD_1).op(Code.ALOAD_2).push(i)
+                        .op(Code.INVOKESTATIC).u2(pool.methodRef(BASE, "applyPrimitive", "(L" + FIELD_MAPPER + ";Ljava/lang/Object;L" + VALUES + ";I)Ljava/lang/Object;"))
+                        .op(Code.ASTORE_1);
+                continue;
+            }
+            code.op(Code.ALOAD_2).push(i).op(Code.INVOKEVIRTUAL).u2(pool.methodRef(VALUES, "get", "(I)Ljava/lang/Object;"))
+                    .op(Code.ASTORE_3)
+                    .op(Code.ALOAD_3).op(Code.GETSTATIC).u2(pool.fieldRef(PATH_TRIE, "MISSING", "Ljava/lang/Object;"));
+            int next = code.jump(Code.IF_ACMPEQ);
+            int tryStart = code.position();
+            loadFunction(code, i, SETTER_FUNCTION).op(Code.ALOAD_1).op(Code.ALOAD_3)
+                    .op(Code.INVOKEINTERFACE).u2(pool.interfaceMethodRef(FUNCTION_TYPES[SETTER_FUNCTION], "apply", "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;")).u1(3).u1(0)
+                    .op(Code.ASTORE_1);
+            code.tryBlock(tryStart, code.position());
+            code.land(next);
+        }
+        code.op(Code.ALOAD_1).op(Code.ARETURN);
+        castHandler(code);
+        return code;
+    }
+
+    private void castHandler(Code code) {
+        code.handler(pool.classRef("java/lang/ClassCastException"));
+        code.op(Code.INVOKESTATIC).u2(pool.methodRef(BASE, "castError", "(Ljava/lang/ClassCastException;)Ljava/lang/RuntimeException;"))
+                .op(Code.ATHROW);
+    }
+
+    private Code loadFunction(Code code, int field, int function) {
+        return code.op(Code.ALOAD_0).op(Code.GETFIELD).u2(field(function(field, function)));
+    }
+
+    private int field(int function) {
+        return pool.fieldRef(className, fieldName(function), fieldDescriptor(function));
+    }
+
+    private static int function(int field, int function) {
+        return field * FUNCTION_TYPES.length + function;
+    }
+
+    private static String fieldName(int function) {
+        return FUNCTION_PREFIXES[function % FUNCTION_TYPES.length] + Integer.toString(function / FUNCTION_TYPES.length);
+    }
+
+    private static String fieldDescriptor(int function) {
+        return "L" + FUNCTION_TYPES[function % FUNCTION_TYPES.length] + ";";
+    }
+
+    private byte[] method(int access, String name, String descriptor, Code code, int maxLocals) {
+        int codeAttribute = pool.utf8("Code");
+        int nameIndex = pool.utf8(name);
+        int descriptorIndex = pool.utf8(descriptor);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeShort(access);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+            out.writeShort(1);
+            out.writeShort(codeAttribute);
+            byte[] instructions = code.toByteArray();
+            out.writeInt(12 + instructions.length + 8 * code.tryBlocks.size());
+            out.writeShort(Code.MAX_STACK);
+            out.writeShort(maxLocals);
+            out.writeInt(instructions.length);
+            out.write(instructions);
+            out.writeShort(code.tryBlocks.size());
+            for (int[] tryBlock : code.tryBlocks) {
+                out.writeShort(tryBlock[0]);
+                out.writeShort(tryBlock[1]);
+                out.writeShort(code.handler);
+                out.writeShort(code.handlerType);
+            }
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Bytecode of single method with forward jumps and one exception handler
+     */
+    private static final class Code {
+        static final int MAX_STACK = 6;
+
+        static final int ALOAD_0 = 0x2a;
+        static final int ALOAD_1 = 0x2b;
+        static final int ALOAD_2 = 0x2c;
+        static final int ALOAD_3 = 0x2d;
+        static final int ASTORE_1 = 0x4c;
+        static final int ASTORE_2 = 0x4d;
+        static final int ASTORE_3 = 0x4e;
+        static final int AALOAD = 0x32;
+        static final int BIPUSH = 0x10;
+        static final int SIPUSH = 0x11;
+        static final int IFNE = 0x9a;
+        static final int IF_ACMPEQ = 0xa5;
+        static final int IF_ACMPNE = 0xa6;
+        static final int GOTO = 0xa7;
+        static final int RETURN = 0xb1;
+        static final int ARETURN = 0xb0;
+        static final int GETSTATIC = 0xb2;
+        static final int GETFIELD = 0xb4;
+        static final int PUTFIELD = 0xb5;
+        static final int INVOKEVIRTUAL = 0xb6;
+        static final int INVOKESPECIAL = 0xb7;
+        static final int INVOKESTATIC = 0xb8;
+        static final int INVOKEINTERFACE = 0xb9;
+        static final int CHECKCAST = 0xc0;
+        static final int ATHROW = 0xbf;
+
+        private final List<int[]> tryBlocks = new ArrayList<>();
+        private byte[] bytes = new byte[256];
+        private int size;
+        private int handler;
+        private int handlerType;
+
+        Code op(int opcode) {
+            return u1(opcode);
+        }
+
+        Code u1(int value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) value;
+            return this;
+        }
+
+        Code u2(int value) {
+            return u1(value >>> 8).u1(value);
+        }
+
+        Code push(int value) {
+            return value < 128 ? op(BIPUSH).u1(value) : op(SIPUSH).u2(value);
+        }
+
+        int position() {
+            return size;
+        }
+
+        /**
+         * Write jump with offset set later by land
+         * @return position of jump instruction
+         */
+        int jump(int opcode) {
+            int position = position();
+            op(opcode).u2(0);
+            return position;
+        }
+
+        /**
+         * Set target of jump to current position
+         */
+        void land(int jump) {
+            int offset = size - jump;
+            bytes[jump + 1] = (byte) (offset >>> 8);
+            bytes[jump + 2] = (byte) offset;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        void tryBlock(int start, int end) {
+            if (end > start) {
+                tryBlocks.add(new int[]{start, end});
+            }
+        }
+
+        void handler(int exceptionType) {
+            handler = position();
+            handlerType = exceptionType;
+        }
+    }
+
+    /**
+     * Constant pool of class file
+     */
+    private static final class ConstantPool {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private int size = 1;
+
+        int utf8(String value) {
+            Integer index = indexes.get("U" + value);
+            if (index != null) {
+                return index;
+            }
+            try {
+                out.writeByte(1);
+                out.writeUTF(value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return add("U" + value);
+        }
+
+        int classRef(String name) {
+            return entry("C" + name, 7, utf8(name), -1);
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return entry("F" + owner + '.' + name + descriptor, 9, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return entry("M" + owner + '.' + name + descriptor, 10, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        int interfaceMethodRef(String owner, String name, String descriptor) {
+            return entry("I" + owner + '.' + name + descriptor, 11, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        private int nameAndType(String name, String descriptor) {
+            return entry("N" + name + descriptor, 12, utf8(name), utf8(descriptor));
+        }
+
+        private int entry(String key, int tag, int first, int second) {
+            Integer index = indexes.get(key);
+            if (index != null) {
+                return index;
+            }
+            try {
+                out.writeByte(tag);
+                out.writeShort(first);
+                if (second >= 0) {
+                    out.writeShort(second);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return add(key);
+        }
+
+        private int add(String key) {
+            indexes.put(key, size);
+            return size++;
+        }
+
+        void write(DataOutputStream target) throws IOException {
+            target.writeShort(size);
+            target.write(bytes.toByteArray());
+        }
+    }
+}
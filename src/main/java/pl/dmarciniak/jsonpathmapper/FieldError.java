@@ -0,0 +1,69 @@
+package pl.dmarciniak.jsonpathmapper;
+
+/**
+ * Error of single json field found by JsonPathMapper.mapValidated.
+ * It's plain value object (not exception), so it's cheap to create and doesn't keep stack trace.
+ */
+public final class FieldError {
+
+    /**
+     * Kind of field error
+     */
+    public enum Kind {
+        /** Required field doesn't exist in json */
+        NOT_FOUND,
+        /** Json field has type different than expected by validator, mapper or setter */
+        WRONG_TYPE,
+        /** Validator of field returned false */
+        VALIDATION_FAILED,
+        /** Mapper of field threw exception (available as cause) */
+        MAPPER_FAILED,
+        /** Json cannot be parsed (path of error is "$", parse exception is available as cause) */
+        INVALID_JSON
+    }
+
+    private final String path;
+    private final Kind kind;
+    private final Object rawValue;
+    private final Throwable cause;
+
+    FieldError(String path, Kind kind, Object rawValue, Throwable cause) {
+        this.path = path;
+        this.kind = kind;
+        this.rawValue = rawValue;
+        this.cause = cause;
+    }
+
+    /**
+     * @return json path of field
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return kind of error
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return value of json field (value passed to setter for setter errors), null when field doesn't exist
+     */
+    public Object getRawValue() {
+        return rawValue;
+    }
+
+    /**
+     * @return exception thrown by mapper or json parser, null for other kinds of errors
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldError[" + kind + " " + path + (rawValue == null ? "" : ": " + rawValue) + "]";
+    }
+}
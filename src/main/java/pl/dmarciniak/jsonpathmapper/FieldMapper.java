@@ -1,15 +1,20 @@
 package pl.dmarciniak.jsonpathmapper;
 
 import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import pl.dmarciniak.jsonpathmapper.exception.JsonFieldCastException;
 import pl.dmarciniak.jsonpathmapper.exception.JsonFieldNotFoundException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldPathException;
 import pl.dmarciniak.jsonpathmapper.exception.JsonFieldValidatorException;
 
-import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.*;
 
 /**
@@ -21,12 +26,16 @@ import java.util.function.*;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 public final class FieldMapper<T, S, U> {
 
-    private final String jsonPath;
+    private final String path;
+    private final JsonPath jsonPath;
     private final BiFunction<T, U, T> func;
     private final Predicate<S> validator;
     private final Function<S, U> mapper;
     private final boolean optional;
 
+    private static final Predicate<Object> ACCEPT_ALL = val -> true;
+    private static final Function<Object, Object> IDENTITY = val -> val;
+
     /**
      * Json path for mapping field
      * @param jsonPath json path, see: https://bit.ly/2JVzFRJ
@@ -40,14 +49,61 @@ public final class FieldMapper<T, S, U> {
     }
 
     /**
-     * Json path for mapping field
+     * Json path for mapping field.
+     * Path is compiled once here, so malformed path fails before any json is mapped.
      * @param jsonPath json path, see: https://bit.ly/2JVzFRJ
      * @param <W> type of target class
      * @param <V> type of json field
      * @return json mapper builder
+     * @throws JsonFieldPathException when json path is malformed
      */
     public static <W, V> FieldMapper<W, V, V> fromPath(String jsonPath) {
-        return new FieldMapper<>(jsonPath, (obj, val) -> obj, val -> true, val -> val, false);
+        return new FieldMapper<>(jsonPath, compilePath(jsonPath), (obj, val) -> obj, acceptAll(), identity(), false);
+    }
+
+    /**
+     * Json path for mapping int field.
+     * Use it together with withIntValidator, withIntMapper and toIntField to map value without boxing.
+     * @param jsonPath json path, see: https://bit.ly/2JVzFRJ
+     * @param <W> type of target class
+     * @return json mapper builder
+     */
+    public static <W> FieldMapper<W, Integer, Integer> fromIntPath(String jsonPath) {
+        return fromPath(jsonPath);
+    }
+
+    /**
+     * Json path for mapping long field.
+     * Use it together with withLongValidator, withLongMapper and toLongField to map value without boxing.
+     * @param jsonPath json path, see: https://bit.ly/2JVzFRJ
+     * @param <W> type of target class
+     * @return json mapper builder
+     */
+    public static <W> FieldMapper<W, Long, Long> fromLongPath(String jsonPath) {
+        return fromPath(jsonPath);
+    }
+
+    /**
+     * Json path for mapping double field.
+     * Use it together with withDoubleValidator, withDoubleMapper and toDoubleField to map value without boxing.
+     * @param jsonPath json path, see: https://bit.ly/2JVzFRJ
+     * @param <W> type of target class
+     * @return json mapper builder
+     */
+    public static <W> FieldMapper<W, Double, Double> fromDoublePath(String jsonPath) {
+        return fromPath(jsonPath);
+    }
+
+    /**
+     * Json path for mapping boolean field.
+     * Boolean values are never allocated (Boolean.TRUE and Boolean.FALSE are used),
+     * so standard validator, mapper and toGetterField can be used without boxing cost.
+     * @param jsonPath json path, see: https://bit.ly/2JVzFRJ
+     * @param <W> type of target class
+     * @return json mapper builder
+     */
+    public static <W> FieldMapper<W, Boolean, Boolean> fromBooleanPath(String jsonPath) {
+        return fromPath(jsonPath);
     }
 
     /**
@@ -58,7 +114,7 @@ public final class FieldMapper<T, S, U> {
      * @return json mapper builder
      */
     public <W, V> FieldMapper<W, S, V> toChainField(BiFunction<W, V, W> func) {
-        return new FieldMapper<>(this.jsonPath, func, this.validator, val -> (V) val, this.optional);
+        return new FieldMapper<>(this.path, this.jsonPath, func, this.validator, identity(), this.optional);
     }
 
     /**
@@ -69,19 +125,20 @@ public final class FieldMapper<T, S, U> {
      * @return json mapper builder
      */
     public <W, V> FieldMapper<W, S, V> toGetterField(BiConsumer<W, V> consumer) {
-        return new FieldMapper<>(this.jsonPath, (targetObj, val) -> {consumer.accept(targetObj, val); return targetObj;}, this.validator, val -> (V) val, this.optional);
+        return new FieldMapper<>(this.path, this.jsonPath, (targetObj, val) -> {consumer.accept(targetObj, val); return targetObj;}, this.validator, identity(), this.optional);
     }
 
     /**
-     * Sets field value in target class
+     * Sets field value in target class.
+     * Field is resolved immediately, so missing field fails while mapper is being built.
      * @param fieldName Name of private field in target class
-     * @param targetType type of value to map
+     * @param targetType type of target class
      * @param <W> type of target class
      * @param <V> type of value to map
      * @return json mapper builder
      */
     public <W, V> FieldMapper<W, S, V> toPrivateField(String fieldName, Class<W> targetType) {
-        return toPrivateField(fieldName);
+        return new FieldMapper<>(this.path, this.jsonPath, new PrivateFieldSetter<>(fieldName, targetType), this.validator, identity(), this.optional);
     }
 
     /**
@@ -92,18 +149,37 @@ public final class FieldMapper<T, S, U> {
      * @return json mapper builder
      */
     public <W, V> FieldMapper<W, S, V> toPrivateField(String fieldName) {
-        return new FieldMapper<>(this.jsonPath, (targetObj, val) -> {
-                try {
-                    Field field = targetObj.getClass().getDeclaredField(fieldName);
-                    boolean accessible = field.isAccessible();
-                    field.setAccessible(true);
-                    field.set(targetObj, val);
-                    field.setAccessible(accessible);
-                    return targetObj;
-                } catch (NoSuchFieldException | IllegalAccessException e) {
-                    throw new JsonPathException("Cannot set value to field: " + fieldName, e);
-                }
-            }, this.validator, val -> (V) val, this.optional);
+        return new FieldMapper<>(this.path, this.jsonPath, new PrivateFieldSetter<>(fieldName), this.validator, identity(), this.optional);
+    }
+
+    /**
+     * Sets int field value in target class without boxing
+     * @param consumer ObjIntConsumer that take instance of target class and int value
+     * @param <W> type of target class
+     * @return json mapper builder
+     */
+    public <W> FieldMapper<W, S, Integer> toIntField(ObjIntConsumer<W> consumer) {
+        return toPrimitiveField(PrimitiveFunctions.intSetter(consumer));
+    }
+
+    /**
+     * Sets long field value in target class without boxing
+     * @param consumer ObjLongConsumer that take instance of target class and long value
+     * @param <W> type of target class
+     * @return json mapper builder
+     */
+    public <W> FieldMapper<W, S, Long> toLongField(ObjLongConsumer<W> consumer) {
+        return toPrimitiveField(PrimitiveFunctions.longSetter(consumer));
+    }
+
+    /**
+     * Sets double field value in target class without boxing
+     * @param consumer ObjDoubleConsumer that take instance of target class and double value
+     * @param <W> type of target class
+     * @return json mapper builder
+     */
+    public <W> FieldMapper<W, S, Double> toDoubleField(ObjDoubleConsumer<W> consumer) {
+        return toPrimitiveField(PrimitiveFunctions.doubleSetter(consumer));
     }
 
     /**
@@ -112,7 +188,7 @@ public final class FieldMapper<T, S, U> {
      * @return json mapper builder
      */
     public FieldMapper<T, S, U> withValidator(Predicate<S> validator) {
-        return new FieldMapper<>(this.jsonPath, this.func, validator, this.mapper, this.optional);
+        return new FieldMapper<>(this.path, this.jsonPath, this.func, validator, this.mapper, this.optional);
     }
 
     /**
@@ -121,7 +197,97 @@ public final class FieldMapper<T, S, U> {
      * @return json mapper builder
      */
     public FieldMapper<T, S, U> withMapper(Function<S, U> mapper) {
-        return new FieldMapper<>(this.jsonPath, this.func, this.validator, mapper, this.optional);
+        return new FieldMapper<>(this.path, this.jsonPath, this.func, this.validator, mapper, this.optional);
+    }
+
+    /**
+     * Nested mapper for map json object to target field.
+     * Object parsed together with whole document is mapped directly (without parsing it again),
+     * paths of nested mapper are relative to the object (e.g. $.number).
+     * Nested mapper should use the same json provider as parent mapper.
+     * @param nestedMapper mapper of json object
+     * @return json mapper builder
+     */
+    public FieldMapper<T, S, U> withNestedMapper(JsonPathMapper<U> nestedMapper) {
+        return withMapper(nestedMapper::mapNode);
+    }
+
+    /**
+     * Nested mapper for map each element of json array (array path, e.g. $.phones, or wildcard path, e.g. $.phones[*])
+     * to list in target field. Elements parsed together with whole document are mapped directly (without parsing them again),
+     * paths of nested mapper are relative to the element (e.g. $.number).
+     * Nested mapper should use the same json provider as parent mapper.
+     * @param elementMapper mapper of element of json array
+     * @param <E> type of element of list
+     * @return json mapper builder
+     */
+    public <E> FieldMapper<T, S, List<E>> withNestedListMapper(JsonPathMapper<E> elementMapper) {
+        return new FieldMapper<>(this.path, this.jsonPath, cast(this.func), this.validator, elementMapper::mapNodes, this.optional);
+    }
+
+    /**
+     * Asynchronous mapper for map json field value to target field (e.g. lookup in external service).
+     * With JsonPathMapper.mapAsync all asynchronous mappers of document run concurrently,
+     * other map methods wait for result of mapper.
+     * @param mapper taking json field value and return stage completed with target field
+     * @return json mapper builder
+     */
+    public FieldMapper<T, S, U> withAsyncMapper(Function<S, CompletionStage<U>> mapper) {
+        return withMapper(new AsyncMapper<>(mapper));
+    }
+
+    /**
+     * Validator for int json field value, works without boxing together with toIntField
+     * @param validator taking json field value and return true or false
+     * @return json mapper builder
+     */
+    public FieldMapper<T, S, U> withIntValidator(IntPredicate validator) {
+        return withValidator(cast(PrimitiveFunctions.intValidator(validator)));
+    }
+
+    /**
+     * Validator for long json field value, works without boxing together with toLongField
+     * @param validator taking json field value and return true or false
+     * @return json mapper builder
+     */
+    public FieldMapper<T, S, U> withLongValidator(LongPredicate validator) {
+        return withValidator(cast(PrimitiveFunctions.longValidator(validator)));
+    }
+
+    /**
+     * Validator for double json field value, works without boxing together with toDoubleField
+     * @param validator taking json field value and return true or false
+     * @return json mapper builder
+     */
+    public FieldMapper<T, S, U> withDoubleValidator(DoublePredicate validator) {
+        return withValidator(cast(PrimitiveFunctions.doubleValidator(validator)));
+    }
+
+    /**
+     * Mapper for int json field value, works without boxing together with toIntField
+     * @param mapper taking json field value and return target field
+     * @return json mapper builder
+     */
+    public FieldMapper<T, S, U> withIntMapper(IntUnaryOperator mapper) {
+        return withMapper(cast(PrimitiveFunctions.intMapper(mapper)));
+    }
+
+    /**
+     * Mapper for long json field value, works without boxing together with toLongField
+     * @param mapper taking json field value and return target field
+     * @return json mapper builder
+     */
+    public FieldMapper<T, S, U> withLongMapper(LongUnaryOperator mapper) {
+        return withMapper(cast(PrimitiveFunctions.longMapper(mapper)));
+    }
+
+    /**
+     * Mapper for double json field value, works without boxing together with toDoubleField
+     * @param mapper taking json field value and return target field
+     * @return json mapper builder
+     */
+    public FieldMapper<T, S, U> withDoubleMapper(DoubleUnaryOperator mapper) {
+        return withMapper(cast(PrimitiveFunctions.doubleMapper(mapper)));
     }
 
     /**
@@ -129,35 +295,303 @@ public final class FieldMapper<T, S, U> {
      * @return json mapper builder
      */
     public FieldMapper<T, S, U> optional() {
-        return new FieldMapper<>(this.jsonPath, this.func, this.validator, this.mapper, true);
+        return new FieldMapper<>(this.path, this.jsonPath, this.func, this.validator, this.mapper, true);
+    }
+
+    JsonPath getJsonPath() {
+        return jsonPath;
+    }
+
+    /**
+     * @return json path as it was given by user (compiled path keeps only normalized form)
+     */
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * @return validator of field or null when all values are accepted
+     */
+    Predicate<S> getValidator() {
+        return validator == ACCEPT_ALL ? null : validator;
     }
 
-    Function<T, T> getMapFunc(DocumentContext json) {
+    /**
+     * @return mapper of field or null when value isn't mapped
+     */
+    Function<S, U> getMapper() {
+        return mapper == IDENTITY ? null : mapper;
+    }
+
+    /**
+     * @return function setting value in target class
+     */
+    BiFunction<T, U, T> getSetter() {
+        return func;
+    }
+
+    /**
+     * Read raw value of field from json document with json-path
+     * @param json parsed json document
+     * @return raw value or PathTrie.MISSING when optional field doesn't exist
+     */
+    Object readValue(DocumentContext json) {
         try {
-            S rawValue = json.read(jsonPath);
+            return json.read(jsonPath);
+        } catch (PathNotFoundException e) {
+            if (optional) {
+                return PathTrie.MISSING;
+            }
+            throw new JsonFieldNotFoundException("Wrong field path: " + path, e);
+        }
+    }
+
+    /**
+     * Validate and map raw value of field
+     * @param value raw value or PathTrie.MISSING when field doesn't exist
+     * @return value for setter or PathTrie.MISSING when optional field doesn't exist
+     */
+    Object prepare(Object value) {
+        if (value == PathTrie.MISSING) {
+            if (optional) {
+                return PathTrie.MISSING;
+            }
+            throw new JsonFieldNotFoundException("Wrong field path: " + path, null);
+        }
+        try {
+            S rawValue = (S) value;
             validateField(rawValue);
-            U mappedValue = mapper.apply(rawValue);
-            return (targetObj) -> {
-                try {
-                    return func.apply(targetObj, mappedValue);
-                } catch (ClassCastException e) {
-                    throw new JsonFieldCastException("Wrong type of json field", e);
-                }
-            };
+            return mapper.apply(rawValue);
+        } catch (ClassCastException e) {
+            throw new JsonFieldCastException("Wrong type of json field", e);
+        }
+    }
+
+    /**
+     * Read raw value of field from json document with json-path, missing field isn't reported by exception
+     * @param json parsed json document
+     * @return raw value or PathTrie.MISSING when field doesn't exist
+     */
+    Object readValueOrMissing(DocumentContext json) {
+        try {
+            return json.read(jsonPath);
         } catch (PathNotFoundException e) {
-            if(optional) {
-                return Function.identity();
-            } else {
-                throw new JsonFieldNotFoundException("Wrong field path: " + jsonPath, e);
+            return PathTrie.MISSING;
+        }
+    }
+
+    /**
+     * Validate and map raw value of field like prepare and preparePrimitive,
+     * but wrong field is reported by returned error instead of exception
+     * @param value raw value or PathTrie.MISSING when field doesn't exist
+     * @param primitiveType primitive type of field (see getPrimitiveType)
+     * @param values values where prepared value is stored (PathTrie.MISSING when there is no value for setter)
+     * @param slot slot of field in values
+     * @return field error or null when value was prepared
+     */
+    FieldError prepareChecked(Object value, PrimitiveType primitiveType, PathTrie.Values values, int slot) {
+        values.replace(slot, PathTrie.MISSING);
+        if (value == PathTrie.MISSING) {
+            return optional ? null : error(FieldError.Kind.NOT_FOUND, null, null);
+        }
+        if (primitiveType != null) {
+            long bits;
+            try {
+                bits = PrimitiveFunctions.toBits(primitiveType, value);
+            } catch (ClassCastException e) {
+                return error(FieldError.Kind.WRONG_TYPE, value, null);
             }
+            if (validator instanceof PrimitiveFunctions.Validator && !((PrimitiveFunctions.Validator) validator).testBits(bits)) {
+                return error(FieldError.Kind.VALIDATION_FAILED, value, null);
+            }
+            values.replacePrimitive(slot, mapper instanceof PrimitiveFunctions.Mapper ? ((PrimitiveFunctions.Mapper) mapper).applyBits(bits) : bits);
+            return null;
+        }
+        S rawValue = (S) value;
+        try {
+            if (!validator.test(rawValue)) {
+                return error(FieldError.Kind.VALIDATION_FAILED, value, null);
+            }
+        } catch (ClassCastException e) {
+            return error(FieldError.Kind.WRONG_TYPE, value, null);
+        }
+        try {
+            values.replace(slot, mapper.apply(rawValue));
+            return null;
+        } catch (ClassCastException e) {
+            return error(FieldError.Kind.WRONG_TYPE, value, null);
+        } catch (RuntimeException e) {
+            return error(FieldError.Kind.MAPPER_FAILED, value, e);
+        }
+    }
+
+    /**
+     * Create error of this field
+     * @param kind kind of error
+     * @param rawValue value of field or null
+     * @param cause exception thrown by mapper or null
+     * @return field error
+     */
+    FieldError error(FieldError.Kind kind, Object rawValue, Throwable cause) {
+        return new FieldError(path, kind, rawValue, cause);
+    }
+
+    /**
+     * True when field has asynchronous mapper (see withAsyncMapper)
+     */
+    boolean isAsync() {
+        return mapper instanceof AsyncMapper;
+    }
+
+    /**
+     * Validate raw value of field and start its asynchronous mapping
+     * @param value raw value or PathTrie.MISSING when field doesn't exist
+     * @return stage with value for setter or PathTrie.MISSING when optional field doesn't exist
+     */
+    CompletionStage<Object> prepareAsync(Object value) {
+        if (!isAsync() || value == PathTrie.MISSING) {
+            return CompletableFuture.completedFuture(prepare(value));
+        }
+        try {
+            S rawValue = (S) value;
+            validateField(rawValue);
+            return (CompletionStage<Object>) (CompletionStage<?>) ((AsyncMapper<S, U>) mapper).asyncMapper.apply(rawValue);
         } catch (ClassCastException e) {
             throw new JsonFieldCastException("Wrong type of json field", e);
         }
     }
 
+    /**
+     * Set value returned by prepare method in target class
+     * @param targetObj instance of target class
+     * @param value prepared value
+     * @return instance of target class
+     */
+    T apply(T targetObj, Object value) {
+        try {
+            return applyValue(targetObj, value);
+        } catch (ClassCastException e) {
+            throw new JsonFieldCastException("Wrong type of json field", e);
+        }
+    }
+
+    /**
+     * Set value returned by prepare method in target class, wrong type of value isn't wrapped by JsonFieldCastException
+     * @param targetObj instance of target class
+     * @param value prepared value
+     * @return instance of target class
+     * @throws ClassCastException when setter cannot take value
+     */
+    T applyValue(T targetObj, Object value) {
+        return func.apply(targetObj, (U) value);
+    }
+
+    /**
+     * Type of primitive value mapping, available when validator, mapper and setter can work without boxing
+     * @return primitive type or null when value has to be boxed
+     */
+    PrimitiveType getPrimitiveType() {
+        if (!(func instanceof PrimitiveFunctions.Setter)) {
+            return null;
+        }
+        PrimitiveType type = ((PrimitiveFunctions.Setter<?>) func).type;
+        boolean primitiveValidator = validator == ACCEPT_ALL
+                || (validator instanceof PrimitiveFunctions.Validator && ((PrimitiveFunctions.Validator) validator).type == type);
+        boolean primitiveMapper = mapper == IDENTITY
+                || (mapper instanceof PrimitiveFunctions.Mapper && ((PrimitiveFunctions.Mapper) mapper).type == type);
+        return primitiveValidator && primitiveMapper ? type : null;
+    }
+
+    /**
+     * Convert raw value of field to primitive type (see getPrimitiveType)
+     * @param value raw value
+     * @return primitive value
+     */
+    long toPrimitive(Object value) {
+        try {
+            return PrimitiveFunctions.toBits(getPrimitiveType(), value);
+        } catch (ClassCastException e) {
+            throw new JsonFieldCastException("Wrong type of json field", e);
+        }
+    }
+
+    /**
+     * Validate and map primitive value of field (see getPrimitiveType)
+     * @param bits primitive value
+     * @return primitive value for setter
+     */
+    long preparePrimitive(long bits) {
+        if (validator instanceof PrimitiveFunctions.Validator && !((PrimitiveFunctions.Validator) validator).testBits(bits)) {
+            throw new JsonFieldValidatorException("Validator exception for path: " + path);
+        }
+        return mapper instanceof PrimitiveFunctions.Mapper ? ((PrimitiveFunctions.Mapper) mapper).applyBits(bits) : bits;
+    }
+
+    /**
+     * Set value returned by preparePrimitive method in target class
+     * @param targetObj instance of target class
+     * @param bits prepared primitive value
+     * @return instance of target class
+     */
+    T applyPrimitive(T targetObj, long bits) {
+        ((PrimitiveFunctions.Setter<T>) func).acceptBits(targetObj, bits);
+        return targetObj;
+    }
+
+    /**
+     * Mapper wrapping asynchronous mapper, synchronous mapping waits for result
+     */
+    private static final class AsyncMapper<V, W> implements Function<V, W> {
+
+        private final Function<V, CompletionStage<W>> asyncMapper;
+
+        private AsyncMapper(Function<V, CompletionStage<W>> asyncMapper) {
+            this.asyncMapper = asyncMapper;
+        }
+
+        @Override
+        public W apply(V value) {
+            try {
+                return asyncMapper.apply(value).toCompletableFuture().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
     private void validateField(S rawValue) {
         if(!validator.test(rawValue)) {
-            throw new JsonFieldValidatorException("Validator exception for path: " + jsonPath);
+            throw new JsonFieldValidatorException("Validator exception for path: " + path);
+        }
+    }
+
+    private <W, V> FieldMapper<W, S, V> toPrimitiveField(PrimitiveFunctions.Setter<W> setter) {
+        return new FieldMapper<>(this.path, this.jsonPath, cast(setter), this.validator, identity(), this.optional);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Predicate<V> acceptAll() {
+        return (Predicate<V>) ACCEPT_ALL;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, W> Function<V, W> identity() {
+        return (Function<V, W>) IDENTITY;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F cast(Object function) {
+        return (F) function;
+    }
+
+    static JsonPath compilePath(String jsonPath) {
+        try {
+            return JsonPath.compile(jsonPath);
+        } catch (InvalidPathException | IllegalArgumentException e) {
+            throw new JsonFieldPathException("Wrong json path syntax: " + jsonPath, e);
         }
     }
 }
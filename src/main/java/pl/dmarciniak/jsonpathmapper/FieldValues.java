@@ -0,0 +1,76 @@
+package pl.dmarciniak.jsonpathmapper;
+
+/**
+ * Values of fields read from json document passed to generated code (see GeneratedMapping).
+ * Fields are indexed in order of field mappers, values of int, long and double field mappers are read without boxing.
+ */
+public final class FieldValues {
+
+    private final PathTrie.Values values;
+
+    FieldValues(PathTrie.Values values) {
+        this.values = values;
+    }
+
+    /**
+     * @param field index of field
+     * @return true when field exists in json (only optional fields can be not existing)
+     */
+    public boolean exists(int field) {
+        return values.isPrimitive(field) || values.get(field) != PathTrie.MISSING;
+    }
+
+    /**
+     * @param field index of field
+     * @return value of field
+     */
+    public Object get(int field) {
+        return values.get(field);
+    }
+
+    /**
+     * @param field index of boolean field (see FieldMapper.fromBooleanPath)
+     * @return value of field
+     * @throws ClassCastException when value isn't boolean (also for json null)
+     */
+    public boolean getBoolean(int field) {
+        return toBoolean((Boolean) values.get(field));
+    }
+
+    /**
+     * @param field index of int field (see FieldMapper.fromIntPath)
+     * @return value of field
+     */
+    public int getInt(int field) {
+        return (int) values.getPrimitive(field);
+    }
+
+    /**
+     * @param field index of long field (see FieldMapper.fromLongPath)
+     * @return value of field
+     */
+    public long getLong(int field) {
+        return values.getPrimitive(field);
+    }
+
+    /**
+     * @param field index of double field (see FieldMapper.fromDoublePath)
+     * @return value of field
+     */
+    public double getDouble(int field) {
+        return Double.longBitsToDouble(values.getPrimitive(field));
+    }
+
+    /**
+     * Unbox value of boolean field set by field mapper, json null isn't converted to false
+     * @param value value of field
+     * @return value of field
+     * @throws ClassCastException when value is null
+     */
+    public static boolean toBoolean(Boolean value) {
+        if (value == null) {
+            throw new ClassCastException("Expected boolean, found: null");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,22 @@
+package pl.dmarciniak.jsonpathmapper;
+
+/**
+ * Code of mapper generated at compile time by annotation processor (see annotation.JsonPathMapping):
+ * value of each field is passed directly to setter, field or constructor of target class, without generic functions
+ * of field mappers. It's used by map, mapStreaming, mapLazy, mapAll, mapLines and mapInto,
+ * parallelMap, mapValidated and mapAsync use field mappers of the same mapper.
+ * Before it's called, all fields are read and not existing required field is reported by JsonFieldNotFoundException.
+ * ClassCastException thrown by generated code is reported as JsonFieldCastException, like in field mappers.
+ * @param <T> type of target class
+ */
+public abstract class GeneratedMapping<T> {
+
+    /**
+     * Set values of all fields in order of field mappers
+     * @param target instance of target class created by initializer of mapper,
+     *               null when target class is created by generated code (mapper with result mapper)
+     * @param values values of fields, indexed in order of field mappers
+     * @return instance of target class with mapped data
+     */
+    protected abstract T map(T target, FieldValues values);
+}
@@ -0,0 +1,192 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPath;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldCastException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldNotFoundException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldPathException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonParseException;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Class for mapping elements of (big) json array one by one.
+ * Json is read as token stream, only single element of array is in memory at a time
+ * and each element is mapped by element mapper as separate json document.
+ * Use "forArray" method of element mapper to create it.
+ * @param <E> type of element target class
+ */
+public final class JsonArrayMapper<E> {
+
+    private final String path;
+    private final JsonPath arrayPath;
+    private final List<Object> segments;
+    private final JsonPathMapper<E> elementMapper;
+
+    JsonArrayMapper(String arrayPath, JsonPathMapper<E> elementMapper) {
+        this.path = arrayPath;
+        this.arrayPath = FieldMapper.compilePath(arrayPath);
+        this.segments = PathTrie.segments(this.arrayPath);
+        this.elementMapper = elementMapper;
+        if (segments == null) {
+            throw new JsonFieldPathException("Array path has to be definite path: " + arrayPath, null);
+        }
+    }
+
+    /**
+     * Method map elements of array and pass them to consumer as soon as they are read
+     * @param jsonStr String with source json
+     * @param consumer consumer of mapped elements
+     */
+    public void forEach(String jsonStr, Consumer<? super E> consumer) {
+        iterator(jsonStr).forEachRemaining(consumer);
+    }
+
+    /**
+     * Method map elements of array and pass them to consumer as soon as they are read
+     * @param json stream with UTF-8 source json
+     * @param consumer consumer of mapped elements
+     */
+    public void forEach(InputStream json, Consumer<? super E> consumer) {
+        iterator(json).forEachRemaining(consumer);
+    }
+
+    /**
+     * Method map elements of array and pass them to consumer as soon as they are read
+     * @param json reader with source json
+     * @param consumer consumer of mapped elements
+     */
+    public void forEach(Reader json, Consumer<? super E> consumer) {
+        iterator(json).forEachRemaining(consumer);
+    }
+
+    /**
+     * Method return iterator of mapped elements of array.
+     * Json is read lazily: next element is read and mapped when it's requested.
+     * @param jsonStr String with source json
+     * @return iterator of mapped elements
+     */
+    public Iterator<E> iterator(String jsonStr) {
+        return iterator(JsonInput.of(jsonStr));
+    }
+
+    /**
+     * Method return iterator of mapped elements of array.
+     * Json is read lazily: next element is read and mapped when it's requested.
+     * @param json stream with UTF-8 source json (stream isn't closed)
+     * @return iterator of mapped elements
+     */
+    public Iterator<E> iterator(InputStream json) {
+        return iterator(JsonInput.of(json));
+    }
+
+    /**
+     * Method return iterator of mapped elements of array.
+     * Json is read lazily: next element is read and mapped when it's requested.
+     * @param json reader with source json (reader isn't closed)
+     * @return iterator of mapped elements
+     */
+    public Iterator<E> iterator(Reader json) {
+        return iterator(JsonInput.of(json));
+    }
+
+    private Iterator<E> iterator(JsonInput input) {
+        return new ElementIterator(new JsonTokenReader(input.reader()));
+    }
+
+    private final class ElementIterator implements Iterator<E> {
+        private final JsonTokenReader reader;
+        private boolean started;
+        private boolean first = true;
+        private Boolean hasNext;
+
+        private ElementIterator(JsonTokenReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (hasNext == null) {
+                try {
+                    if (!started) {
+                        moveToArray();
+                        started = true;
+                    }
+                    hasNext = reader.hasNext(']', first);
+                    first = false;
+                } catch (InvalidJsonException e) {
+                    throw new JsonParseException("Wrong json format", e);
+                } catch (UncheckedIOException e) {
+                    throw new JsonParseException("Cannot read json", e);
+                }
+            }
+            return hasNext;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            Object element;
+            try {
+                element = reader.readValue(elementMapper.jsonProvider());
+            } catch (InvalidJsonException e) {
+                throw new JsonParseException("Wrong json format", e);
+            } catch (UncheckedIOException e) {
+                throw new JsonParseException("Cannot read json", e);
+            }
+            return elementMapper.mapDocument(element);
+        }
+
+        /**
+         * Skip json up to the beginning of first element of array
+         */
+        private void moveToArray() {
+            for (Object segment : segments) {
+                if (!(segment instanceof String ? moveToEntry((String) segment) : moveToIndex((Integer) segment))) {
+                    throw new JsonFieldNotFoundException("Wrong field path: " + path, null);
+                }
+            }
+            if (reader.peek() != '[') {
+                throw new JsonFieldCastException("Json field is not an array: " + path, null);
+            }
+            reader.consume('[');
+        }
+
+        private boolean moveToEntry(String name) {
+            if (reader.peek() != '{') {
+                return false;
+            }
+            reader.consume('{');
+            for (boolean first = true; reader.hasNext('}', first); first = false) {
+                if (name.equals(reader.nextName())) {
+                    return true;
+                }
+                reader.skipValue();
+            }
+            return false;
+        }
+
+        private boolean moveToIndex(int index) {
+            if (reader.peek() != '[') {
+                return false;
+            }
+            reader.consume('[');
+            for (int i = 0; reader.hasNext(']', i == 0); ++i) {
+                if (i == index) {
+                    return true;
+                }
+                reader.skipValue();
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Source of json passed to mapper.
+ * Every source is parsed directly by json provider or token reader, without building intermediate String.
+ * Byte sources are decoded as UTF-8.
+ */
+abstract class JsonInput {
+
+    /**
+     * Parse whole json into document
+     * @param configuration json-path configuration
+     * @return parsed document
+     */
+    abstract DocumentContext parse(Configuration configuration);
+
+    /**
+     * @return json as characters stream for token reader
+     */
+    abstract Reader reader();
+
+    /**
+     * @return content of json for cache of results or null when json cannot be read twice (stream, reader)
+     */
+    ResultCache.Key cacheKey() {
+        return null;
+    }
+
+    static JsonInput of(String json) {
+        return new JsonInput() {
+            @Override
+            DocumentContext parse(Configuration configuration) {
+                return JsonPath.using(configuration).parse(json);
+            }
+
+            @Override
+            Reader reader() {
+                return new StringReader(json);
+            }
+
+            @Override
+            ResultCache.Key cacheKey() {
+                return ResultCache.Key.of(json);
+            }
+        };
+    }
+
+    static JsonInput of(byte[] json, int offset, int length) {
+        JsonInput input = of(new ByteArrayInputStream(json, offset, length));
+        return new JsonInput() {
+            @Override
+            DocumentContext parse(Configuration configuration) {
+                return input.parse(configuration);
+            }
+
+            @Override
+            Reader reader() {
+                return input.reader();
+            }
+
+            @Override
+            ResultCache.Key cacheKey() {
+                return ResultCache.Key.of(json, offset, length);
+            }
+        };
+    }
+
+    static JsonInput of(ByteBuffer json) {
+        if (json.hasArray()) {
+            return of(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+        return of(new ByteBufferInputStream(json.duplicate()));
+    }
+
+    static JsonInput of(InputStream json) {
+        return new JsonInput() {
+            @Override
+            DocumentContext parse(Configuration configuration) {
+                return JsonPath.using(configuration).parse(json, StandardCharsets.UTF_8.name());
+            }
+
+            @Override
+            Reader reader() {
+                return new InputStreamReader(json, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    static JsonInput of(Reader json) {
+        return new JsonInput() {
+            @Override
+            DocumentContext parse(Configuration configuration) {
+                JsonTokenReader reader = new JsonTokenReader(json);
+                Object document = reader.readValue(configuration.jsonProvider());
+                reader.end();
+                return JsonPath.using(configuration).parse(document);
+            }
+
+            @Override
+            Reader reader() {
+                return json;
+            }
+        };
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
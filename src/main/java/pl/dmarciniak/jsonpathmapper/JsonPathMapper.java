@@ -1,26 +1,177 @@
 package pl.dmarciniak.jsonpathmapper;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.JsonPath;
-import lombok.AllArgsConstructor;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldCastException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldNotFoundException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldPathException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldValidatorException;
 import pl.dmarciniak.jsonpathmapper.exception.JsonParseException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Class for mapping (string) json to target (T) class.
  * Use "forClass" static method to initialize builder.
+ * Json can be passed as String, UTF-8 bytes (byte array or ByteBuffer), InputStream (UTF-8) or Reader.
  * @param <T> type of target class
  */
-@AllArgsConstructor
 public class JsonPathMapper<T> {
 
-    private final Supplier<T> initializer;
-    private final List<FieldMapper<T, ?, ?>> fieldMappers;
+    private final Supplier<?> initializer;
+    private final FieldMapper<Object, ?, ?>[] fieldMappers;
+    private final Function<Object, T> resultMapper;
+    private final Configuration configuration;
+    private final PathTrie pathTrie;
+    private final boolean[] inTrie;
+    private final boolean[] prefixInTrie;
+    private final PrimitiveType[] primitiveTypes;
+    private final int[] sharedRead;
+    private final boolean[] preRead;
+    private final boolean sharedReads;
+    private final ReadPlan readPlan;
+    private final boolean streamable;
+    private final ParallelExecution parallelExecution;
+    private final BatchExecution batchExecution;
+    private final int asyncFields;
+    private final CompiledFields compiledFields;
+    private final GeneratedMapping<T> generatedMapping;
+    private final MappingMetrics metrics;
+    private final boolean measured;
+    private final ResultCache resultCache;
+    private final UnaryOperator<Object> resultCopier;
+    private final boolean withResultMapper;
+    private final ThreadLocal<Object> targetPool;
+    private final Consumer<Object> targetReset;
+
+    private static final Function<Object, Object> NO_RESULT_MAPPER = Function.identity();
+
+    public JsonPathMapper(Supplier<T> initializer, List<FieldMapper<T, ?, ?>> fieldMappers) {
+        this(initializer, fieldMappers, noResultMapper());
+    }
+
+    <B> JsonPathMapper(Supplier<B> initializer, List<FieldMapper<B, ?, ?>> fieldMappers, Function<B, T> resultMapper) {
+        this(initializer, fieldMappers, resultMapper, Configuration.defaultConfiguration(),
+                ParallelExecution.DEFAULT, BatchExecution.DEFAULT, false, MappingMetrics.NONE, null, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    <B> JsonPathMapper(Supplier<B> initializer, List<FieldMapper<B, ?, ?>> fieldMappers, Function<B, T> resultMapper,
+                       Configuration configuration, ParallelExecution parallelExecution, BatchExecution batchExecution,
+                       boolean generateBytecode, MappingMetrics metrics, ResultCache resultCache, UnaryOperator<B> resultCopier,
+                       Consumer<B> targetReset, GeneratedMapping<T> generatedMapping) {
+        this.configuration = configuration;
+        this.parallelExecution = parallelExecution;
+        this.batchExecution = batchExecution;
+        this.initializer = initializer;
+        this.fieldMappers = fieldMappers.toArray(new FieldMapper[0]);
+        this.resultMapper = (Function<Object, T>) resultMapper;
+        this.pathTrie = new PathTrie(this.fieldMappers.length);
+        this.inTrie = new boolean[this.fieldMappers.length];
+        this.prefixInTrie = new boolean[this.fieldMappers.length];
+        this.primitiveTypes = new PrimitiveType[this.fieldMappers.length];
+        // options (e.g. DEFAULT_PATH_LEAF_TO_NULL) change json-path result for missing paths, so trie isn't used
+        boolean useTrie = configuration.getOptions().isEmpty();
+        boolean allInTrie = useTrie;
+        for (int i = 0; i < inTrie.length; ++i) {
+            primitiveTypes[i] = this.fieldMappers[i].getPrimitiveType();
+            inTrie[i] = useTrie && pathTrie.add(this.fieldMappers[i].getJsonPath(), i, primitiveTypes[i]);
+            prefixInTrie[i] = useTrie && !inTrie[i] && pathTrie.addPrefix(this.fieldMappers[i].getJsonPath(), i);
+            allInTrie &= inTrie[i];
+        }
+        this.streamable = allInTrie;
+        this.sharedRead = new int[this.fieldMappers.length];
+        this.preRead = new boolean[this.fieldMappers.length];
+        this.sharedReads = findSharedReads();
+        this.readPlan = createReadPlan();
+        this.asyncFields = (int) Arrays.stream(this.fieldMappers).filter(FieldMapper::isAsync).count();
+        this.metrics = metrics;
+        this.measured = metrics != MappingMetrics.NONE;
+        // generated code has no per field measurement points, so measured mapper isn't generated
+        this.compiledFields = generateBytecode && !measured ? CompiledFields.compile(this.fieldMappers, primitiveTypes) : null;
+        this.generatedMapping = measured ? null : generatedMapping;
+        List<String> paths = new ArrayList<>(this.fieldMappers.length);
+        for (FieldMapper<Object, ?, ?> fieldMapper : this.fieldMappers) {
+            paths.add(fieldMapper.getPath());
+        }
+        metrics.register(paths);
+        this.resultCache = resultCache;
+        this.resultCopier = (UnaryOperator<Object>) resultCopier;
+        this.withResultMapper = resultMapper != NO_RESULT_MAPPER;
+        this.targetPool = targetReset == null ? null : ThreadLocal.withInitial(initializer::get);
+        this.targetReset = (Consumer<Object>) targetReset;
+    }
+
+    /**
+     * Find fields with identical paths not handled by trie (trie reads identical definite paths once by itself),
+     * such path is read once per document before fields are prepared (see readSharedValues)
+     * @return true when any path is shared
+     */
+    private boolean findSharedReads() {
+        Map<String, Integer> firstReads = new HashMap<>();
+        boolean shared = false;
+        for (int i = 0; i < fieldMappers.length; ++i) {
+            sharedRead[i] = -1;
+            if (inTrie[i]) {
+                continue;
+            }
+            Integer first = firstReads.putIfAbsent(fieldMappers[i].getJsonPath().getPath(), i);
+            if (first != null) {
+                sharedRead[i] = first;
+                preRead[i] = true;
+                preRead[first] = true;
+                shared = true;
+            }
+        }
+        return shared;
+    }
+
+    private ReadPlan createReadPlan() {
+        // keyed by normalized path (same path written differently is read once), reported as given by user
+        Map<String, String> definitePaths = new LinkedHashMap<>();
+        Map<String, String> jsonPathReads = new LinkedHashMap<>();
+        for (int i = 0; i < fieldMappers.length; ++i) {
+            (inTrie[i] ? definitePaths : jsonPathReads).putIfAbsent(fieldMappers[i].getJsonPath().getPath(), fieldMappers[i].getPath());
+        }
+        int sharedReadsAmount = fieldMappers.length - definitePaths.size() - jsonPathReads.size();
+        return new ReadPlan(fieldMappers.length, new ArrayList<>(definitePaths.values()), new ArrayList<>(jsonPathReads.values()),
+                sharedReadsAmount, pathTrie.sharedSegments());
+    }
+
+    /**
+     * Result mapper of mapper built without result mapper (see mapInto)
+     */
+    @SuppressWarnings("unchecked")
+    static <B> Function<B, B> noResultMapper() {
+        return (Function<B, B>) NO_RESULT_MAPPER;
+    }
 
     /**
      * Method return builder for creating mapper
@@ -32,13 +183,91 @@ public class JsonPathMapper<T> {
         return new JsonPathMapperBuilder<S>(targetType);
     }
 
+    /**
+     * Method return mapper of elements of json array, each element is mapped by this mapper.
+     * Elements are read and mapped one by one, so whole array is never kept in memory.
+     * @param arrayPath definite json path of array (e.g. $.items)
+     * @return mapper of elements of array
+     * @throws JsonFieldPathException when json path is malformed or not definite
+     */
+    public JsonArrayMapper<T> forArray(String arrayPath) {
+        return new JsonArrayMapper<>(arrayPath, this);
+    }
+
     /**
      * Method map json to target class
      * @param jsonStr String with source json
      * @return instance of target class with mapped data
      */
     public T map(String jsonStr) {
-        return mapStream(jsonStr, fieldMappers.stream());
+        return map(JsonInput.of(jsonStr), false);
+    }
+
+    /**
+     * Method map json into existing instance of target class (e.g. reused by consumer loop) instead of creating new one.
+     * Fields are only set, so optional fields which don't exist in json keep previous values.
+     * @param jsonStr String with source json
+     * @param target instance of target class
+     * @return instance of target class with mapped data (the target unless chain setters return other instance)
+     * @throws UnsupportedOperationException when mapper was built with result mapper
+     */
+    @SuppressWarnings("unchecked")
+    public T mapInto(String jsonStr, T target) {
+        if (withResultMapper) {
+            throw new UnsupportedOperationException("Cannot map into target instance when mapper has result mapper");
+        }
+        DocumentContext json = parseJson(JsonInput.of(jsonStr));
+        if (generatedMapping != null) {
+            return mapGenerated(json, evaluate(json), target);
+        }
+        return (T) mapTarget(json, evaluate(json), false, target);
+    }
+
+    /**
+     * Method map json to target class
+     * @param json UTF-8 bytes of source json
+     * @return instance of target class with mapped data
+     */
+    public T map(byte[] json) {
+        return map(json, 0, json.length);
+    }
+
+    /**
+     * Method map json to target class
+     * @param json UTF-8 bytes of source json
+     * @param offset index of first byte of json
+     * @param length number of json bytes
+     * @return instance of target class with mapped data
+     */
+    public T map(byte[] json, int offset, int length) {
+        return map(JsonInput.of(json, offset, length), false);
+    }
+
+    /**
+     * Method map json to target class
+     * @param json UTF-8 bytes of source json between position and limit of buffer (buffer position isn't changed)
+     * @return instance of target class with mapped data
+     */
+    public T map(ByteBuffer json) {
+        return map(JsonInput.of(json), false);
+    }
+
+    /**
+     * Method map json to target class
+     * @param json stream with UTF-8 source json
+     * @return instance of target class with mapped data
+     */
+    public T map(InputStream json) {
+        return map(JsonInput.of(json), false);
+    }
+
+    /**
+     * Method map json to target class
+     * @param json reader with source json
+     * @return instance of target class with mapped data
+     */
+    public T map(Reader json) {
+        return map(JsonInput.of(json), false);
     }
 
     /**
@@ -47,22 +276,698 @@ public class JsonPathMapper<T> {
      * @return instance of target class with mapped data
      */
     public T parallelMap(String jsonStr) {
-        return mapStream(jsonStr, fieldMappers.parallelStream());
+        return map(JsonInput.of(jsonStr), true);
+    }
+
+    /**
+     * Method parallel map json to target class
+     * @param json UTF-8 bytes of source json
+     * @return instance of target class with mapped data
+     */
+    public T parallelMap(byte[] json) {
+        return parallelMap(json, 0, json.length);
+    }
+
+    /**
+     * Method parallel map json to target class
+     * @param json UTF-8 bytes of source json
+     * @param offset index of first byte of json
+     * @param length number of json bytes
+     * @return instance of target class with mapped data
+     */
+    public T parallelMap(byte[] json, int offset, int length) {
+        return map(JsonInput.of(json, offset, length), true);
     }
 
-    private T mapStream(String jsonStr, Stream<FieldMapper<T, ?, ?>> stream) {
-        DocumentContext json = parseJson(jsonStr);
-        T targetObj = initializer.get();
-        return stream.map(mapper -> mapper.getMapFunc(json))
-                .reduce(Function.identity(), Function::andThen)
-                .apply(targetObj);
+    /**
+     * Method parallel map json to target class
+     * @param json UTF-8 bytes of source json between position and limit of buffer (buffer position isn't changed)
+     * @return instance of target class with mapped data
+     */
+    public T parallelMap(ByteBuffer json) {
+        return map(JsonInput.of(json), true);
+    }
+
+    /**
+     * Method parallel map json to target class
+     * @param json stream with UTF-8 source json
+     * @return instance of target class with mapped data
+     */
+    public T parallelMap(InputStream json) {
+        return map(JsonInput.of(json), true);
+    }
+
+    /**
+     * Method parallel map json to target class
+     * @param json reader with source json
+     * @return instance of target class with mapped data
+     */
+    public T parallelMap(Reader json) {
+        return map(JsonInput.of(json), true);
+    }
+
+    /**
+     * Method map json to target class without building whole json document in memory.
+     * Json is read as token stream, parts of document not needed by any path are skipped (and not validated)
+     * and reading stops as soon as all fields are found.
+     * Works only for definite paths (without wildcards, filters, deep scans and functions),
+     * if mapper contains any other path then it falls back to "map" method.
+     * @param jsonStr String with source json
+     * @return instance of target class with mapped data
+     */
+    public T mapStreaming(String jsonStr) {
+        return mapStreaming(JsonInput.of(jsonStr));
+    }
+
+    /**
+     * Method map json to target class without building whole json document in memory.
+     * See: {@link #mapStreaming(String)}
+     * @param json UTF-8 bytes of source json
+     * @return instance of target class with mapped data
+     */
+    public T mapStreaming(byte[] json) {
+        return mapStreaming(json, 0, json.length);
+    }
+
+    /**
+     * Method map json to target class without building whole json document in memory.
+     * See: {@link #mapStreaming(String)}
+     * @param json UTF-8 bytes of source json
+     * @param offset index of first byte of json
+     * @param length number of json bytes
+     * @return instance of target class with mapped data
+     */
+    public T mapStreaming(byte[] json, int offset, int length) {
+        return mapStreaming(JsonInput.of(json, offset, length));
+    }
+
+    /**
+     * Method map json to target class without building whole json document in memory.
+     * See: {@link #mapStreaming(String)}
+     * @param json UTF-8 bytes of source json between position and limit of buffer (buffer position isn't changed)
+     * @return instance of target class with mapped data
+     */
+    public T mapStreaming(ByteBuffer json) {
+        return mapStreaming(JsonInput.of(json));
+    }
+
+    /**
+     * Method map json to target class without building whole json document in memory.
+     * See: {@link #mapStreaming(String)}
+     * @param json stream with UTF-8 source json
+     * @return instance of target class with mapped data
+     */
+    public T mapStreaming(InputStream json) {
+        return mapStreaming(JsonInput.of(json));
+    }
+
+    /**
+     * Method map json to target class without building whole json document in memory.
+     * See: {@link #mapStreaming(String)}
+     * @param json reader with source json
+     * @return instance of target class with mapped data
+     */
+    public T mapStreaming(Reader json) {
+        return mapStreaming(JsonInput.of(json));
+    }
+
+    /**
+     * Method map json to target class without decoding values which aren't mapped.
+     * Json is validated and indexed into flat tape of token offsets, then paths walk the tape
+     * (skipping not needed subtrees) and only values of fields are decoded.
+     * It's recommended for wide json documents when only small part of values is mapped.
+     * Paths which aren't definite (wildcards, filters, deep scans, functions) are read by json-path
+     * from document created from tape only when they are needed.
+     * @param jsonStr String with source json
+     * @return instance of target class with mapped data
+     */
+    public T mapLazy(String jsonStr) {
+        long start = measured ? System.nanoTime() : 0L;
+        JsonTape tape;
+        try {
+            tape = JsonTape.parse(jsonStr);
+        } catch (InvalidJsonException e) {
+            throw new JsonParseException("Wrong json format", e);
+        }
+        if (measured) {
+            long parsed = System.nanoTime();
+            metrics.parsed(parsed - start);
+            start = parsed;
+        }
+        PathTrie.Values values = pathTrie.evaluateTape(tape, configuration.jsonProvider());
+        if (measured) {
+            metrics.pathsEvaluated(System.nanoTime() - start);
+        }
+        DocumentContext json = null;
+        for (int i = 0; i < fieldMappers.length && json == null; ++i) {
+            if (!inTrie[i] && (!prefixInTrie[i] || values.get(i) != PathTrie.MISSING)) {
+                json = JsonPath.using(configuration).parse(tape.value(JsonTape.ROOT, configuration.jsonProvider()));
+            }
+        }
+        return mapValues(json, values, false, true);
+    }
+
+    /**
+     * Method map json to target class and collect errors of all wrong fields instead of throwing exception for the first one.
+     * Missing, not valid and wrong type fields are reported without exceptions, so rejecting wrong json is cheap.
+     * @param jsonStr String with source json
+     * @return result with instance of target class with mapped data or with list of field errors
+     */
+    public ValidationResult<T> mapValidated(String jsonStr) {
+        return mapValidated(JsonInput.of(jsonStr));
+    }
+
+    /**
+     * Method asynchronously map json to target class.
+     * Json is parsed and fields are validated in calling thread, then asynchronous mappers
+     * (see FieldMapper.withAsyncMapper) of all fields run concurrently and target class is created
+     * when all of them are completed.
+     * @param jsonStr String with source json
+     * @return future completed with instance of target class with mapped data
+     * or completed exceptionally when json cannot be mapped
+     */
+    public CompletableFuture<T> mapAsync(String jsonStr) {
+        return mapAsync(JsonInput.of(jsonStr));
+    }
+
+    /**
+     * Method map many json documents in parallel (documents are spread across batch executor).
+     * Failure of single document doesn't stop mapping of others, it's reported in its result.
+     * @param jsons Strings with source jsons
+     * @return results of mapping, in order of documents unless unordered batch was set in builder
+     */
+    public List<MappingResult<T>> mapAll(List<String> jsons) {
+        List<MappingResult<T>> results = new ArrayList<>(jsons.size());
+        mapAll(jsons.iterator()).forEachRemaining(results::add);
+        return results;
+    }
+
+    /**
+     * Method lazily map many json documents in parallel (documents are spread across batch executor).
+     * Only limited number of documents is read ahead of consumer of results.
+     * Failure of single document doesn't stop mapping of others, it's reported in its result.
+     * @param jsons stream of Strings with source jsons
+     * @return stream of results of mapping, in order of documents unless unordered batch was set in builder
+     */
+    public Stream<MappingResult<T>> mapAll(Stream<String> jsons) {
+        Iterator<MappingResult<T>> results = mapAll(jsons.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(jsons::close);
+    }
+
+    /**
+     * Method lazily map many json documents in parallel (documents are spread across batch executor).
+     * Only limited number of documents is read ahead of consumer of results.
+     * Failure of single document doesn't stop mapping of others, it's reported in its result.
+     * @param jsons iterator of Strings with source jsons
+     * @return iterator of results of mapping, in order of documents unless unordered batch was set in builder
+     */
+    public Iterator<MappingResult<T>> mapAll(Iterator<String> jsons) {
+        return batchExecution.execute(jsons, this::batchWorker);
+    }
+
+    /**
+     * Method lazily map newline-delimited json file (NDJSON), each non-empty line is single json document (UTF-8).
+     * File is memory-mapped in segments and lines are mapped without copying them to Strings.
+     * Returned stream is sequential, parallel stream divides file into ranges of bytes mapped on different cores.
+     * Stream should be closed after use (e.g. with try-with-resources) to close the file.
+     * @param ndjson path of file
+     * @return stream of instances of target class with mapped data, in order of lines
+     * @throws JsonParseException when file cannot be read
+     */
+    public Stream<T> mapLines(Path ndjson) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(ndjson, StandardOpenOption.READ);
+            FileChannel file = channel;
+            return StreamSupport.stream(new LineSpliterator(file, 0, file.size(), LineSpliterator.DEFAULT_SEGMENT_SIZE), false)
+                    .map(line -> map(JsonInput.of(line), false, false))
+                    .onClose(() -> closeFile(file));
+        } catch (IOException e) {
+            if (channel != null) {
+                closeFile(channel);
+            }
+            throw new JsonParseException("Cannot read json file: " + ndjson, e);
+        }
+    }
+
+    private static void closeFile(FileChannel file) {
+        try {
+            file.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Function mapping documents of single batch chunk, values are reused between documents
+     */
+    private Function<String, T> batchWorker() {
+        PathTrie.Values values = pathTrie.newValues();
+        return jsonStr -> {
+            if (resultCache != null) {
+                return map(JsonInput.of(jsonStr), false, false);
+            }
+            DocumentContext json = parseJson(JsonInput.of(jsonStr));
+            long start = measured ? System.nanoTime() : 0L;
+            pathTrie.evaluate(json.json(), json.configuration().jsonProvider(), values);
+            if (measured) {
+                metrics.pathsEvaluated(System.nanoTime() - start);
+            }
+            return mapValues(json, values, false, false);
+        };
+    }
+
+    private ValidationResult<T> mapValidated(JsonInput input) {
+        DocumentContext json;
+        try {
+            json = parseJson(input);
+        } catch (JsonParseException e) {
+            return ValidationResult.invalid(Collections.singletonList(new FieldError("$", FieldError.Kind.INVALID_JSON, null, e)));
+        }
+        PathTrie.Values values = evaluate(json);
+        if (sharedReads) {
+            readSharedValues(json, values);
+        }
+        List<FieldError> errors = null;
+        for (int i = 0; i < fieldMappers.length; ++i) {
+            Object rawValue = rawValue(i, json, values, false);
+            FieldError error = fieldMappers[i].prepareChecked(rawValue, primitiveTypes[i], values, i);
+            if (rawValue == PathTrie.MISSING) {
+                metrics.fieldMissing(i);
+            }
+            if (error != null) {
+                metrics.fieldFailed(i, error.getKind());
+            }
+            errors = addError(errors, error);
+        }
+        Object targetObj = reusedTarget();
+        for (int i = 0; i < fieldMappers.length; ++i) {
+            if (values.isPrimitive(i)) {
+                targetObj = fieldMappers[i].applyPrimitive(targetObj, values.getPrimitive(i));
+            } else if (values.get(i) != PathTrie.MISSING) {
+                try {
+                    targetObj = fieldMappers[i].applyValue(targetObj, values.get(i));
+                } catch (ClassCastException e) {
+                    metrics.fieldFailed(i, FieldError.Kind.WRONG_TYPE);
+                    errors = addError(errors, fieldMappers[i].error(FieldError.Kind.WRONG_TYPE, values.get(i), null));
+                }
+            }
+        }
+        return errors == null ? ValidationResult.valid(resultMapper.apply(targetObj)) : ValidationResult.invalid(errors);
+    }
+
+    private static List<FieldError> addError(List<FieldError> errors, FieldError error) {
+        if (error == null) {
+            return errors;
+        }
+        List<FieldError> result = errors == null ? new ArrayList<>() : errors;
+        result.add(error);
+        return result;
+    }
+
+    private CompletableFuture<T> mapAsync(JsonInput input) {
+        CompletableFuture<?>[] futures;
+        PathTrie.Values values;
+        try {
+            DocumentContext json = parseJson(input);
+            values = evaluate(json);
+            if (sharedReads) {
+                readSharedValues(json, values);
+            }
+            futures = new CompletableFuture<?>[asyncFields];
+            int asyncIndex = 0;
+            for (int i = 0; i < fieldMappers.length; ++i) {
+                if (fieldMappers[i].isAsync()) {
+                    futures[asyncIndex++] = prepareFieldAsync(i, json, values);
+                } else {
+                    prepareField(i, json, values);
+                }
+            }
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        return CompletableFuture.allOf(futures).thenApply(ignored -> resultMapper.apply(applyValues(values, initializer.get())));
+    }
+
+    private T map(JsonInput input, boolean parallel) {
+        return map(input, parallel, true);
+    }
+
+    /**
+     * @param reuseTarget false when mapped instance can outlive next call in this thread (e.g. elements of stream),
+     * so new instance is created even if targets are reused
+     */
+    private T map(JsonInput input, boolean parallel, boolean reuseTarget) {
+        ResultCache.Key key = resultCache == null ? null : input.cacheKey();
+        if (key == null) {
+            DocumentContext json = parseJson(input);
+            PathTrie.Values values = evaluate(json);
+            return mapValues(json, values, parallel, reuseTarget);
+        }
+        Object targetObj = resultCache.get(key);
+        if (targetObj == null) {
+            DocumentContext json = parseJson(input);
+            targetObj = mapTarget(json, evaluate(json), parallel, initializer.get());
+            resultCache.put(key, targetObj);
+        }
+        // cached target is never returned, so caller cannot change it
+        return resultMapper.apply(resultCopier.apply(targetObj));
+    }
+
+    private T mapStreaming(JsonInput input) {
+        if (!streamable) {
+            return map(input, false);
+        }
+        return mapValues(null, readJson(input), false, true);
+    }
+
+    /**
+     * @param reuseTarget true when instance of target class of this thread can be reused (see reusedTarget),
+     * otherwise new instance is created
+     */
+    @SuppressWarnings("unchecked")
+    private T mapValues(DocumentContext json, PathTrie.Values values, boolean parallel, boolean reuseTarget) {
+        if (generatedMapping != null && !parallel) {
+            // generated code of mapper with result mapper creates target class by itself
+            Object targetObj = withResultMapper ? null : reuseTarget ? reusedTarget() : initializer.get();
+            return mapGenerated(json, values, (T) targetObj);
+        }
+        return resultMapper.apply(mapTarget(json, values, parallel, reuseTarget ? reusedTarget() : initializer.get()));
+    }
+
+    /**
+     * Map values of all fields by generated code (see GeneratedMapping). Fields are read and checked first,
+     * so not existing required field and wrong type of primitive field are reported before any value is set, like in mapTarget.
+     */
+    private T mapGenerated(DocumentContext json, PathTrie.Values values, T target) {
+        if (sharedReads) {
+            readSharedValues(json, values);
+        }
+        for (int i = 0; i < fieldMappers.length; ++i) {
+            if (!inTrie[i]) {
+                values.replace(i, rawValue(i, json, values, true));
+            }
+            if (values.isPrimitive(i)) {
+                continue;
+            }
+            Object rawValue = values.get(i);
+            if (rawValue == PathTrie.MISSING) {
+                fieldMappers[i].prepare(rawValue);
+            } else if (primitiveTypes[i] != null) {
+                values.replacePrimitive(i, fieldMappers[i].toPrimitive(rawValue));
+            }
+        }
+        try {
+            return generatedMapping.map(target, new FieldValues(values));
+        } catch (ClassCastException e) {
+            throw new JsonFieldCastException("Wrong type of json field", e);
+        }
+    }
+
+    /**
+     * Instance of target class for single document mapped in calling thread:
+     * reset instance of this thread when targets are reused (see JsonPathMapperBuilder.reuseTargets), otherwise new one
+     */
+    private Object reusedTarget() {
+        if (targetPool == null) {
+            return initializer.get();
+        }
+        Object targetObj = targetPool.get();
+        targetReset.accept(targetObj);
+        return targetObj;
+    }
+
+    /**
+     * Map values of all fields in two phases: first all fields are validated and mapped
+     * (in parallel if requested), then setters are called in order of field mappers.
+     * Prepared values are kept in place of raw values, so there is no per field allocation.
+     * @param targetObj instance of target class where values are set
+     * @return instance of target class before result mapper
+     */
+    private Object mapTarget(DocumentContext json, PathTrie.Values values, boolean parallel, Object targetObj) {
+        if (sharedReads) {
+            readSharedValues(json, values);
+        }
+        if (compiledFields != null && !parallel) {
+            for (int i = 0; i < fieldMappers.length; ++i) {
+                if (!inTrie[i]) {
+                    values.replace(i, rawValue(i, json, values, false));
+                }
+            }
+            compiledFields.prepare(values);
+            return compiledFields.apply(targetObj, values);
+        }
+        if (parallel) {
+            parallelExecution.execute(fieldMappers.length, i -> prepareField(i, json, values));
+        } else {
+            for (int i = 0; i < fieldMappers.length; ++i) {
+                prepareField(i, json, values);
+            }
+        }
+        return applyValues(values, targetObj);
+    }
+
+    /**
+     * Call setters with prepared values of fields in order of field mappers
+     * @return instance of target class before result mapper
+     */
+    private Object applyValues(PathTrie.Values values, Object target) {
+        Object targetObj = target;
+        for (int i = 0; i < fieldMappers.length; ++i) {
+            if (values.isPrimitive(i)) {
+                targetObj = fieldMappers[i].applyPrimitive(targetObj, values.getPrimitive(i));
+            } else if (values.get(i) != PathTrie.MISSING) {
+                try {
+                    targetObj = fieldMappers[i].apply(targetObj, values.get(i));
+                } catch (JsonFieldCastException e) {
+                    metrics.fieldFailed(i, FieldError.Kind.WRONG_TYPE);
+                    throw e;
+                }
+            }
+        }
+        return targetObj;
+    }
+
+    private void prepareField(int index, DocumentContext json, PathTrie.Values values) {
+        if (measured) {
+            prepareMeasuredField(index, json, values);
+            return;
+        }
+        FieldMapper<Object, ?, ?> fieldMapper = fieldMappers[index];
+        if (values.isPrimitive(index)) {
+            values.replacePrimitive(index, fieldMapper.preparePrimitive(values.getPrimitive(index)));
+            return;
+        }
+        Object rawValue = rawValue(index, json, values, true);
+        if (primitiveTypes[index] != null && rawValue != PathTrie.MISSING) {
+            values.replacePrimitive(index, fieldMapper.preparePrimitive(fieldMapper.toPrimitive(rawValue)));
+        } else {
+            values.replace(index, fieldMapper.prepare(rawValue));
+        }
+    }
+
+    /**
+     * Prepare field like prepareField and record lookup time, time of validator and mapper, missing field and failure
+     */
+    private void prepareMeasuredField(int index, DocumentContext json, PathTrie.Values values) {
+        FieldMapper<Object, ?, ?> fieldMapper = fieldMappers[index];
+        boolean primitive = values.isPrimitive(index);
+        Object rawValue = null;
+        if (!primitive) {
+            long start = System.nanoTime();
+            rawValue = rawValue(index, json, values, false);
+            if (!inTrie[index] && !preRead[index]) {
+                metrics.fieldRead(index, System.nanoTime() - start);
+            }
+            if (rawValue == PathTrie.MISSING) {
+                metrics.fieldMissing(index);
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            if (primitive) {
+                values.replacePrimitive(index, fieldMapper.preparePrimitive(values.getPrimitive(index)));
+            } else if (primitiveTypes[index] != null && rawValue != PathTrie.MISSING) {
+                values.replacePrimitive(index, fieldMapper.preparePrimitive(fieldMapper.toPrimitive(rawValue)));
+            } else {
+                values.replace(index, fieldMapper.prepare(rawValue));
+            }
+        } catch (JsonFieldNotFoundException e) {
+            metrics.fieldFailed(index, FieldError.Kind.NOT_FOUND);
+            throw e;
+        } catch (JsonFieldCastException e) {
+            metrics.fieldFailed(index, FieldError.Kind.WRONG_TYPE);
+            throw e;
+        } catch (JsonFieldValidatorException e) {
+            metrics.fieldFailed(index, FieldError.Kind.VALIDATION_FAILED);
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.fieldFailed(index, FieldError.Kind.MAPPER_FAILED);
+            throw e;
+        } finally {
+            metrics.fieldPrepared(index, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Read each path shared by many fields once and store its raw value in slots of all these fields
+     */
+    private void readSharedValues(DocumentContext json, PathTrie.Values values) {
+        for (int i = 0; i < fieldMappers.length; ++i) {
+            if (sharedRead[i] >= 0) {
+                values.replace(i, values.get(sharedRead[i]));
+            } else if (preRead[i]) {
+                long start = measured ? System.nanoTime() : 0L;
+                values.replace(i, prefixInTrie[i] && values.get(i) == PathTrie.MISSING
+                        ? values.get(i) : fieldMappers[i].readValueOrMissing(json));
+                if (measured) {
+                    metrics.fieldRead(i, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Raw value of field: value found by path trie, MISSING when definite beginning of path
+     * doesn't exist in document (so json-path wouldn't find it either and exception is avoided)
+     * or value read by json-path (when json-path doesn't find required field, exception is thrown if requested,
+     * otherwise MISSING is returned). Value of shared path is already read by readSharedValues.
+     */
+    private Object rawValue(int index, DocumentContext json, PathTrie.Values values, boolean throwWhenRequiredMissing) {
+        if (inTrie[index] || preRead[index]) {
+            return values.get(index);
+        }
+        if (prefixInTrie[index] && values.get(index) == PathTrie.MISSING) {
+            return PathTrie.MISSING;
+        }
+        return throwWhenRequiredMissing ? fieldMappers[index].readValue(json) : fieldMappers[index].readValueOrMissing(json);
+    }
+
+    private CompletableFuture<?> prepareFieldAsync(int index, DocumentContext json, PathTrie.Values values) {
+        FieldMapper<Object, ?, ?> fieldMapper = fieldMappers[index];
+        Object rawValue = rawValue(index, json, values, true);
+        return fieldMapper.prepareAsync(rawValue).toCompletableFuture().thenAccept(value -> values.replace(index, value));
+    }
+
+    /**
+     * Description of reading json document: unique paths and number of reads saved by reading identical paths once
+     * and walking shared parents of definite paths once
+     * @return read plan of mapper
+     */
+    public ReadPlan readPlan() {
+        return readPlan;
+    }
+
+    /**
+     * Statistics of cache of results (see JsonPathMapperBuilder.cacheResults)
+     * @return statistics of cache, all values are 0 when results aren't cached
+     */
+    public CacheStats cacheStats() {
+        return resultCache == null ? new CacheStats(0, 0, 0, 0, 0) : resultCache.stats();
+    }
+
+    /**
+     * True when fields are mapped by generated code (see JsonPathMapperBuilder.generateBytecode and GeneratedMapping)
+     */
+    boolean isGenerated() {
+        return compiledFields != null || generatedMapping != null;
+    }
+
+    JsonProvider jsonProvider() {
+        return configuration.jsonProvider();
+    }
+
+    /**
+     * Map json object already parsed by parent mapper (see FieldMapper.withNestedMapper),
+     * paths of this mapper are relative to the object
+     * @param node json object created by json provider of this mapper
+     * @return instance of target class with mapped data
+     * @throws ClassCastException when node isn't json object
+     */
+    T mapNode(Object node) {
+        if (!configuration.jsonProvider().isMap(node)) {
+            throw new ClassCastException("Json object expected, found: " + node);
+        }
+        return mapDocument(node);
+    }
+
+    /**
+     * Map each element of json array already parsed by parent mapper (see FieldMapper.withNestedListMapper),
+     * paths of this mapper are relative to the element
+     * @param array json array created by json provider of this mapper
+     * @return list of instances of target class with mapped data, in order of elements
+     * @throws ClassCastException when array isn't json array or its element isn't json object
+     */
+    List<T> mapNodes(Object array) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        if (!jsonProvider.isArray(array)) {
+            throw new ClassCastException("Json array expected, found: " + array);
+        }
+        List<T> result = new ArrayList<>(jsonProvider.length(array));
+        for (Object element : jsonProvider.toIterable(array)) {
+            result.add(mapNode(element));
+        }
+        return result;
+    }
+
+    /**
+     * Map already parsed json document (e.g. element of array)
+     * @param document json document created by json provider of this mapper
+     * @return instance of target class with mapped data
+     */
+    T mapDocument(Object document) {
+        DocumentContext json = JsonPath.using(configuration).parse(document);
+        return mapValues(json, evaluate(json), false, false);
+    }
+
+    /**
+     * Evaluate definite paths of all fields in parsed json document
+     */
+    private PathTrie.Values evaluate(DocumentContext json) {
+        if (!measured) {
+            return pathTrie.evaluate(json.json(), json.configuration().jsonProvider());
+        }
+        long start = System.nanoTime();
+        PathTrie.Values values = pathTrie.evaluate(json.json(), json.configuration().jsonProvider());
+        metrics.pathsEvaluated(System.nanoTime() - start);
+        return values;
+    }
+
+    private DocumentContext parseJson(JsonInput input) {
+        if (!measured) {
+            return parseJson(input, configuration);
+        }
+        long start = System.nanoTime();
+        DocumentContext json = parseJson(input, configuration);
+        metrics.parsed(System.nanoTime() - start);
+        return json;
+    }
+
+    private static DocumentContext parseJson(JsonInput input, Configuration configuration) {
+        try {
+            return input.parse(configuration);
+        } catch (InvalidJsonException e) {
+            throw new JsonParseException("Wrong json format", e);
+        } catch (UncheckedIOException e) {
+            throw new JsonParseException("Cannot read json", e);
+        }
     }
 
-    private DocumentContext parseJson(String jsonStr) {
+    private PathTrie.Values readJson(JsonInput input) {
+        long start = measured ? System.nanoTime() : 0L;
         try {
-            return JsonPath.parse(jsonStr);
+            return pathTrie.stream(new JsonTokenReader(input.reader()), configuration.jsonProvider());
         } catch (InvalidJsonException e) {
             throw new JsonParseException("Wrong json format", e);
+        } catch (UncheckedIOException e) {
+            throw new JsonParseException("Cannot read json", e);
+        } finally {
+            if (measured) {
+                metrics.parsed(System.nanoTime() - start);
+            }
         }
     }
 }
@@ -1,13 +1,20 @@
 package pl.dmarciniak.jsonpathmapper;
 
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 import pl.dmarciniak.jsonpathmapper.exception.JsonPathMapperException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * Builder for json mapper
@@ -18,6 +25,21 @@ public final class JsonPathMapperBuilder<T> {
     private final Class<T> targetType;
     private final List<FieldMapper<T, ?, ?>> fieldMappers = new ArrayList<>();
     private Supplier<T> initializer;
+    private Executor parallelExecutor = ForkJoinPool.commonPool();
+    private int parallelThreshold;
+    private int parallelChunkSize;
+    private boolean adaptiveParallelism;
+    private boolean virtualThreads;
+    private Executor batchExecutor = ForkJoinPool.commonPool();
+    private int batchChunkSize;
+    private boolean orderedBatch = true;
+    private Configuration configuration = Configuration.defaultConfiguration();
+    private boolean generateBytecode;
+    private MappingMetrics metrics = MappingMetrics.NONE;
+    private int cacheMaxDocuments;
+    private long cacheMaxWeight;
+    private UnaryOperator<T> resultCopier;
+    private Consumer<T> targetReset;
 
     JsonPathMapperBuilder(Class<T> targetType) {
         this.targetType = targetType;
@@ -110,12 +132,201 @@ public final class JsonPathMapperBuilder<T> {
         return this;
     }
 
+    /**
+     * Function set executor used by parallelMap (default: common ForkJoinPool)
+     * @param executor executor (e.g. dedicated ForkJoinPool) for preparing fields in parallel
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> parallelExecutor(Executor executor) {
+        this.parallelExecutor = Objects.requireNonNull(executor, "executor");
+        return this;
+    }
+
+    /**
+     * Function set minimal number of fields for which parallelMap prepares fields in parallel,
+     * for smaller number of fields parallelMap works like map
+     * @param minFields minimal number of fields
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> parallelThreshold(int minFields) {
+        if (minFields < 0) {
+            throw new IllegalArgumentException("Parallel threshold cannot be negative: " + minFields);
+        }
+        this.parallelThreshold = minFields;
+        return this;
+    }
+
+    /**
+     * Function set number of fields prepared by single parallel task (default: fields split evenly between threads)
+     * @param fieldsPerTask number of fields in single task
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> parallelChunkSize(int fieldsPerTask) {
+        if (fieldsPerTask < 1) {
+            throw new IllegalArgumentException("Parallel chunk size must be positive: " + fieldsPerTask);
+        }
+        this.parallelChunkSize = fieldsPerTask;
+        return this;
+    }
+
+    /**
+     * Function enable adaptive parallelism: parallelMap measures cost of fields mapping
+     * and prepares fields in parallel only when it's expensive enough to pay off
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> adaptiveParallelism() {
+        this.adaptiveParallelism = true;
+        return this;
+    }
+
+    /**
+     * Function set that parallelMap prepares each field on its own virtual thread, so blocking validators
+     * and mappers (e.g. lookups in external services) of all fields wait concurrently
+     * instead of being limited by number of threads of executor.
+     * On JVM without virtual threads (before Java 21) parallelMap uses parallel executor as without this option.
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> virtualThreads() {
+        this.virtualThreads = true;
+        return this;
+    }
+
+    /**
+     * Function set executor used by mapAll (default: common ForkJoinPool)
+     * @param executor executor for mapping json documents in parallel
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> batchExecutor(Executor executor) {
+        this.batchExecutor = Objects.requireNonNull(executor, "executor");
+        return this;
+    }
+
+    /**
+     * Function set number of json documents mapped by single mapAll task (default: 16)
+     * @param documentsPerTask number of documents in single task
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> batchChunkSize(int documentsPerTask) {
+        if (documentsPerTask < 1) {
+            throw new IllegalArgumentException("Batch chunk size must be positive: " + documentsPerTask);
+        }
+        this.batchChunkSize = documentsPerTask;
+        return this;
+    }
+
+    /**
+     * Function set that mapAll returns results as soon as they are mapped instead of in order of documents
+     * (use MappingResult.getIndex to find position of document)
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> unorderedBatch() {
+        this.orderedBatch = false;
+        return this;
+    }
+
+    /**
+     * Function set json-path configuration (json provider, mapping provider, options) used to parse and read json.
+     * Options change json-path semantics of missing values, so definite paths are then always read by json-path
+     * and mapStreaming works like map.
+     * @param configuration json-path configuration
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> configuration(Configuration configuration) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration");
+        return this;
+    }
+
+    /**
+     * Function set json provider used to parse json (default: json-smart), e.g. CompactJsonProvider
+     * @param jsonProvider json provider
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> jsonProvider(JsonProvider jsonProvider) {
+        this.configuration = configuration.jsonProvider(Objects.requireNonNull(jsonProvider, "jsonProvider"));
+        return this;
+    }
+
+    /**
+     * Function enable generation of class with straight-line code of all fields at build time,
+     * so validators, mappers and setters of each field are called from separate call sites which JIT can inline.
+     * It's used by map, mapStreaming, mapLazy and mapAll. When class cannot be generated (e.g. more than 500 fields
+     * or class definition isn't allowed by JVM) mapper works without generated code.
+     * On java 9 - 14 generated class is never unloaded, so such mapper should be built once and reused.
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> generateBytecode() {
+        this.generateBytecode = true;
+        return this;
+    }
+
+    /**
+     * Function set metrics recording parse time, lookup time of paths, time of validators and mappers
+     * and missing and failed fields (default: MappingMetrics.NONE, nothing is measured), e.g. MetricsCollector.
+     * Measured mapper doesn't use generated bytecode.
+     * @param metrics metrics of mapper
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> metrics(MappingMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        return this;
+    }
+
+    /**
+     * Function enable cache of mapped results for repeated json documents, see cacheResults(int, long, UnaryOperator)
+     * @param maxDocuments maximal number of cached documents
+     * @param copier function copying instance of target class
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> cacheResults(int maxDocuments, UnaryOperator<T> copier) {
+        return cacheResults(maxDocuments, Long.MAX_VALUE, copier);
+    }
+
+    /**
+     * Function enable cache of mapped results for repeated json documents (e.g. retransmitted or polled bodies).
+     * Document passed as String, byte array or heap ByteBuffer is found in cache by its content (64-bit hash
+     * and comparison of content), then mapping is skipped. Used by map, parallelMap and mapAll.
+     * Cached instance of target class is never returned - copier creates instance for every call
+     * (also for the first one), result mapper is called for the copy. For immutable target class
+     * use UnaryOperator.identity(), otherwise copy constructor or other factory creating independent instance.
+     * Least recently used documents are evicted when number of documents or their total length exceeds bounds.
+     * @param maxDocuments maximal number of cached documents
+     * @param maxWeight maximal total length of cached documents (characters or bytes)
+     * @param copier function copying instance of target class
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> cacheResults(int maxDocuments, long maxWeight, UnaryOperator<T> copier) {
+        if (maxDocuments < 1) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxDocuments);
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Cache weight must be positive: " + maxWeight);
+        }
+        this.cacheMaxDocuments = maxDocuments;
+        this.cacheMaxWeight = maxWeight;
+        this.resultCopier = Objects.requireNonNull(copier, "copier");
+        return this;
+    }
+
+    /**
+     * Function enable reuse of instances of target class: each thread has its own instance which is reset
+     * and filled again by every map, mapStreaming, mapLazy, parallelMap and mapValidated call in this thread,
+     * so steady consumer loop doesn't allocate targets. Returned instance is valid only until next call
+     * in the same thread, so it shouldn't be kept or passed to other threads.
+     * New instances are still created by mapAll, mapLines, mapAsync, nested mappers and for cached results.
+     * @param reset function clearing instance of target class before it's filled again
+     * @return json mapper builder
+     */
+    public JsonPathMapperBuilder<T> reuseTargets(Consumer<T> reset) {
+        this.targetReset = Objects.requireNonNull(reset, "reset");
+        return this;
+    }
+
     /**
      * Build json mapper
      * @return
      */
     public JsonPathMapper<T> build() {
-        return new JsonPathMapper<T>(initializer, fieldMappers);
+        return buildWithResultMapper(JsonPathMapper.noResultMapper());
     }
 
     /**
@@ -125,18 +336,57 @@ public final class JsonPathMapperBuilder<T> {
      * @return json mapper with new target class
      */
     public <S> JsonPathMapper<S> buildWithResultMapper(Function<T, S> resultMapper) {
-        return new JsonPathMapper<S>(null, null) {
-            private JsonPathMapper<T> mapper = build();
+        return buildWithResultMapper(resultMapper, null);
+    }
 
-            @Override
-            public S map(String jsonStr) {
-                return resultMapper.apply(mapper.map(jsonStr));
-            }
+    /**
+     * Build json mapper which maps fields by code generated at compile time (used by generated mappers,
+     * see annotation.JsonPathMapping). Field mappers are still used by parallelMap, mapValidated and mapAsync.
+     * @param generatedMapping generated code setting values of fields in instance of target class
+     * @return json mapper
+     * @throws IllegalArgumentException when any field mapper has validator or mapper (generated code doesn't call them)
+     */
+    public JsonPathMapper<T> build(GeneratedMapping<T> generatedMapping) {
+        return buildWithResultMapper(JsonPathMapper.noResultMapper(), generatedMapping);
+    }
 
-            @Override
-            public S parallelMap(String jsonStr) {
-                return resultMapper.apply(mapper.parallelMap(jsonStr));
+    /**
+     * Build json mapper with additional map of result which maps fields by code generated at compile time
+     * (used by generated mappers, see annotation.JsonPathMapping).
+     * Generated code creates new target class by itself, result mapper is used by parallelMap, mapValidated and mapAsync.
+     * @param resultMapper
+     * @param generatedMapping generated code creating new target class with values of fields
+     * @param <S> type of new target class
+     * @return json mapper with new target class
+     * @throws IllegalArgumentException when any field mapper has validator or mapper (generated code doesn't call them)
+     */
+    public <S> JsonPathMapper<S> buildWithResultMapper(Function<T, S> resultMapper, GeneratedMapping<S> generatedMapping) {
+        if (generatedMapping != null) {
+            for (FieldMapper<T, ?, ?> fieldMapper : fieldMappers) {
+                if (fieldMapper.getValidator() != null || fieldMapper.getMapper() != null) {
+                    throw new IllegalArgumentException("Generated mapping doesn't call validators and mappers, field with path: "
+                            + fieldMapper.getPath());
+                }
             }
-        };
+        }
+        return new JsonPathMapper<S>(initializer, fieldMappers, resultMapper, configuration,
+                parallelExecution(), batchExecution(), generateBytecode, metrics,
+                resultCache(), resultCopier, targetReset, generatedMapping);
+    }
+
+    private ParallelExecution parallelExecution() {
+        Executor virtualThreadsExecutor = VirtualThreads.executor();
+        if (virtualThreads && virtualThreadsExecutor != null) {
+            return new ParallelExecution(virtualThreadsExecutor, parallelThreshold, 1, adaptiveParallelism);
+        }
+        return new ParallelExecution(parallelExecutor, parallelThreshold, parallelChunkSize, adaptiveParallelism);
+    }
+
+    private ResultCache resultCache() {
+        return resultCopier == null ? null : new ResultCache(cacheMaxDocuments, cacheMaxWeight);
+    }
+
+    private BatchExecution batchExecution() {
+        return new BatchExecution(batchExecutor, batchChunkSize, orderedBatch);
     }
 }
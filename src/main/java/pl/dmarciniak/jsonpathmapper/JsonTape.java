@@ -0,0 +1,266 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.Arrays;
+
+/**
+ * Flat index ("tape") of json tokens over source String.
+ * Each value (and each name of object entry) is single token with offset of its first character in source
+ * and index of token after the whole value, so subtrees are skipped in constant time.
+ * Strings and numbers are decoded only when they are read, objects and arrays are created (by json provider)
+ * only for values which are read.
+ */
+final class JsonTape {
+
+    static final int ROOT = 0;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String source;
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int size;
+    private int pos;
+
+    private JsonTape(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Index whole json, json is fully validated
+     * @param json source json
+     * @return tape of json tokens
+     * @throws InvalidJsonException when json is malformed
+     */
+    static JsonTape parse(String json) {
+        JsonTape tape = new JsonTape(json);
+        tape.readValue();
+        tape.pos = CompactJsonParser.skipWhitespaces(json, tape.pos);
+        if (tape.pos < json.length()) {
+            throw CompactJsonParser.error("Unexpected character after json: " + json.charAt(tape.pos), tape.pos);
+        }
+        return tape;
+    }
+
+    /**
+     * @return first character of token: '{', '[', '"', 't', 'f', 'n' or first character of number
+     */
+    char type(int token) {
+        return source.charAt(offset(token));
+    }
+
+    /**
+     * Find value of object entry
+     * @param object token of object
+     * @param name name of entry
+     * @return token of value (of the last entry when name is duplicated, like in parsed document)
+     * or -1 when object doesn't have such entry
+     */
+    int field(int object, String name) {
+        int value = -1;
+        for (int key = object + 1; key < next[object]; key = next[key + 1]) {
+            if (nameEquals(key, name)) {
+                value = key + 1;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Find element of array
+     * @param array token of array
+     * @param index index of element
+     * @return token of element or -1 when array is shorter
+     */
+    int element(int array, int index) {
+        int element = array + 1;
+        for (int i = 0; i < index && element < next[array]; ++i) {
+            element = next[element];
+        }
+        return element < next[array] ? element : -1;
+    }
+
+    /**
+     * @return token of name of the first entry of object (iterate with nextName)
+     */
+    int firstName(int object) {
+        return object + 1;
+    }
+
+    /**
+     * @return token of name of the next entry of object
+     */
+    int nextName(int name) {
+        return next[name + 1];
+    }
+
+    /**
+     * @return true when token is not past the last entry of object
+     */
+    boolean hasName(int object, int name) {
+        return name < next[object];
+    }
+
+    /**
+     * Hash of name of object entry, equal to hashCode of name String but computed without creating it
+     */
+    int nameHash(int name) {
+        int offset = offsets[name];
+        if (offset < 0) {
+            return ((String) CompactJsonParser.decode(source, ~offset)).hashCode();
+        }
+        int hash = 0;
+        for (int i = offset + 1; source.charAt(i) != '"'; ++i) {
+            hash = 31 * hash + source.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Compare name of object entry without creating String
+     */
+    boolean nameEquals(int name, String expected) {
+        int offset = offsets[name];
+        if (offset < 0) {
+            return CompactJsonParser.decode(source, ~offset).equals(expected);
+        }
+        int length = expected.length();
+        return offset + length + 1 < source.length() && source.charAt(offset + length + 1) == '"'
+                && source.regionMatches(offset + 1, expected, 0, length);
+    }
+
+    /**
+     * Decode value of token
+     * @param token token of value
+     * @param provider json provider used to create objects and arrays
+     * @return String, Number, Boolean, null or object or array created by provider
+     */
+    Object value(int token, JsonProvider provider) {
+        char type = type(token);
+        if (type == '{') {
+            Object map = provider.createMap();
+            for (int key = token + 1; key < next[token]; key = next[key + 1]) {
+                provider.setProperty(map, CompactJsonParser.decode(source, offset(key)), value(key + 1, provider));
+            }
+            return map;
+        } else if (type == '[') {
+            Object array = provider.createArray();
+            int index = 0;
+            for (int element = token + 1; element < next[token]; element = next[element]) {
+                provider.setArrayIndex(array, index++, value(element, provider));
+            }
+            return array;
+        } else if (type == 't') {
+            return Boolean.TRUE;
+        } else if (type == 'f') {
+            return Boolean.FALSE;
+        } else if (type == 'n') {
+            return null;
+        }
+        return CompactJsonParser.decode(source, offset(token));
+    }
+
+    private int offset(int token) {
+        int offset = offsets[token];
+        return offset < 0 ? ~offset : offset;
+    }
+
+    private void readValue() {
+        pos = CompactJsonParser.skipWhitespaces(source, pos);
+        char c = current();
+        int token = add(pos);
+        if (c == '{') {
+            readObject();
+        } else if (c == '[') {
+            readArray();
+        } else if (c == '"') {
+            pos = CompactJsonParser.scanString(source, pos);
+        } else if (c == 't' || c == 'f' || c == 'n') {
+            pos = CompactJsonParser.scanLiteral(source, pos);
+        } else {
+            pos = CompactJsonParser.scanNumber(source, pos);
+        }
+        next[token] = size;
+    }
+
+    private void readObject() {
+        pos = CompactJsonParser.skipWhitespaces(source, pos + 1);
+        if (current() == '}') {
+            ++pos;
+            return;
+        }
+        while (true) {
+            pos = CompactJsonParser.skipWhitespaces(source, pos);
+            if (current() != '"') {
+                throw CompactJsonParser.error("Expected name of object entry", pos);
+            }
+            int start = pos;
+            int name = add(start);
+            pos = CompactJsonParser.scanString(source, pos);
+            next[name] = size;
+            if (hasEscape(start + 1, pos - 1)) {
+                offsets[name] = ~start;
+            }
+            pos = CompactJsonParser.skipWhitespaces(source, pos);
+            if (current() != ':') {
+                throw CompactJsonParser.error("Expected ':'", pos);
+            }
+            ++pos;
+            readValue();
+            pos = CompactJsonParser.skipWhitespaces(source, pos);
+            char c = current();
+            ++pos;
+            if (c == '}') {
+                return;
+            } else if (c != ',') {
+                throw CompactJsonParser.error("Expected ',' or '}'", pos - 1);
+            }
+        }
+    }
+
+    private void readArray() {
+        pos = CompactJsonParser.skipWhitespaces(source, pos + 1);
+        if (current() == ']') {
+            ++pos;
+            return;
+        }
+        while (true) {
+            readValue();
+            pos = CompactJsonParser.skipWhitespaces(source, pos);
+            char c = current();
+            ++pos;
+            if (c == ']') {
+                return;
+            } else if (c != ',') {
+                throw CompactJsonParser.error("Expected ',' or ']'", pos - 1);
+            }
+        }
+    }
+
+    private boolean hasEscape(int from, int to) {
+        for (int i = from; i < to; ++i) {
+            if (source.charAt(i) == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int add(int offset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            next = Arrays.copyOf(next, size * 2);
+        }
+        offsets[size] = offset;
+        return size++;
+    }
+
+    private char current() {
+        if (pos >= source.length()) {
+            throw CompactJsonParser.error("Unexpected end of json", pos);
+        }
+        return source.charAt(pos);
+    }
+}
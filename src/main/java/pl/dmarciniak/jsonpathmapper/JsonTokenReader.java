@@ -0,0 +1,410 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Minimal pull reader of json text.
+ * Reads source in fixed size chunks, so whole document is never kept in memory.
+ * Values can be skipped without materialization or read into structures created by json provider
+ * (with the same number types as json-smart: Integer, Long, BigInteger, Double, BigDecimal).
+ * Numbers can be also read without boxing (see {@link #readNumber()}).
+ */
+final class JsonTokenReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int pos;
+    private int limit;
+    private long numberLong;
+    private double numberDouble;
+    private Number numberBoxed;
+    private boolean numberDecimal;
+
+    JsonTokenReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Skip whitespaces and return next character without consuming it
+     * @return next character or -1 at the end of input
+     */
+    int peek() {
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            ++pos;
+        }
+        return -1;
+    }
+
+    /**
+     * Check that whole input was read, only whitespaces can follow json
+     */
+    void end() {
+        int c = peek();
+        if (c >= 0) {
+            throw error("Unexpected character after json: " + (char) c);
+        }
+    }
+
+    void consume(char expected) {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        ++pos;
+    }
+
+    /**
+     * Check if there is next element of object or array and consume separator
+     * @param close closing character of object or array
+     * @param first true for the first element
+     * @return false when closing character was consumed
+     */
+    boolean hasNext(char close, boolean first) {
+        int c = peek();
+        if (c == close) {
+            ++pos;
+            return false;
+        }
+        if (!first) {
+            consume(',');
+        }
+        return true;
+    }
+
+    /**
+     * Read name of object entry together with following colon
+     * @return name of entry
+     */
+    String nextName() {
+        String name = readString();
+        consume(':');
+        return name;
+    }
+
+    /**
+     * Read next value and create its representation using json provider
+     * @param provider json provider
+     * @return value of the same type as json provider would return
+     */
+    Object readValue(JsonProvider provider) {
+        int c = peek();
+        if (c == '{') {
+            ++pos;
+            Object map = provider.createMap();
+            for (boolean first = true; hasNext('}', first); first = false) {
+                String name = nextName();
+                provider.setProperty(map, name, readValue(provider));
+            }
+            return map;
+        } else if (c == '[') {
+            ++pos;
+            Object array = provider.createArray();
+            int index = 0;
+            for (boolean first = true; hasNext(']', first); first = false) {
+                provider.setArrayIndex(array, index++, readValue(provider));
+            }
+            return array;
+        } else if (c == '"') {
+            return readString();
+        }
+        return readScalar();
+    }
+
+    /**
+     * @return true if next value is a number
+     */
+    boolean isNumberNext() {
+        int c = peek();
+        return c == '-' || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Read next number without boxing, value is available by {@link #numberBits(PrimitiveType)}.
+     * Integers up to 18 digits and short decimals (up to 15 significant digits and exponent up to 22)
+     * are converted exactly without any allocation, other numbers fall back to boxed parsing.
+     */
+    void readNumber() {
+        readTokenText();
+        int length = text.length();
+        int i = text.charAt(0) == '-' ? 1 : 0;
+        boolean negative = i == 1;
+        long mantissa = 0;
+        int significant = 0;
+        int digits = 0;
+        int scale = 0;
+        int exponent = 0;
+        boolean decimal = false;
+        boolean exact = true;
+        for (; i < length && isDigit(text.charAt(i)); ++i, ++digits) {
+            int digit = text.charAt(i) - '0';
+            if (mantissa != 0 || digit != 0) {
+                exact &= significant < 18;
+                mantissa = mantissa * 10 + digit;
+                ++significant;
+            }
+        }
+        if (i < length && text.charAt(i) == '.') {
+            decimal = true;
+            for (++i; i < length && isDigit(text.charAt(i)); ++i, ++digits) {
+                int digit = text.charAt(i) - '0';
+                if (mantissa != 0 || digit != 0) {
+                    exact &= significant < 18;
+                    mantissa = mantissa * 10 + digit;
+                    ++significant;
+                }
+                --scale;
+            }
+        }
+        if (i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+            decimal = true;
+            ++i;
+            boolean negativeExponent = i < length && text.charAt(i) == '-';
+            if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+                ++i;
+            }
+            int start = i;
+            for (; i < length && isDigit(text.charAt(i)); ++i) {
+                exponent = Math.min(exponent * 10 + text.charAt(i) - '0', 100000);
+            }
+            exact &= i > start;
+            exponent = negativeExponent ? -exponent : exponent;
+        }
+        numberBoxed = null;
+        numberDecimal = decimal;
+        if (i != length || digits == 0 || !exact) {
+            numberBoxed = parseNumber(text.toString());
+        } else if (!decimal) {
+            numberLong = negative ? -mantissa : mantissa;
+        } else if (length <= 18 && significant <= 15 && Math.abs(scale + exponent) < POWERS_OF_TEN.length) {
+            int power = scale + exponent;
+            double value = power < 0 ? mantissa / POWERS_OF_TEN[-power] : mantissa * POWERS_OF_TEN[power];
+            numberDouble = negative ? -value : value;
+        } else {
+            numberBoxed = parseNumber(text.toString());
+        }
+    }
+
+    /**
+     * Last number read by {@link #readNumber()}
+     * @param type target primitive type
+     * @return number converted to given type
+     * @throws ClassCastException when number doesn't fit given type
+     */
+    long numberBits(PrimitiveType type) {
+        if (numberBoxed != null) {
+            return type.fromNumber(numberBoxed);
+        }
+        return numberDecimal ? type.fromDouble(numberDouble) : type.fromLong(numberLong);
+    }
+
+    /**
+     * Last number read by {@link #readNumber()} boxed as by json-smart parser (see {@link #toNumber(String)})
+     * @return number
+     */
+    Number number() {
+        return numberBoxed != null ? numberBoxed : toNumber(text.toString());
+    }
+
+    /**
+     * Skip next value without creating its representation
+     */
+    void skipValue() {
+        int c = peek();
+        if (c == '{') {
+            ++pos;
+            for (boolean first = true; hasNext('}', first); first = false) {
+                skipString();
+                consume(':');
+                skipValue();
+            }
+        } else if (c == '[') {
+            ++pos;
+            for (boolean first = true; hasNext(']', first); first = false) {
+                skipValue();
+            }
+        } else if (c == '"') {
+            skipString();
+        } else {
+            readToken();
+        }
+    }
+
+    private String readString() {
+        consume('"');
+        text.setLength(0);
+        while (true) {
+            if (pos >= limit && !fill()) {
+                throw error("Unterminated string");
+            }
+            int start = pos;
+            while (pos < limit && buffer[pos] != '"' && buffer[pos] != '\\') {
+                ++pos;
+            }
+            text.append(buffer, start, pos - start);
+            if (pos < limit) {
+                if (buffer[pos++] == '"') {
+                    return text.toString();
+                }
+                text.append(readEscape());
+            }
+        }
+    }
+
+    private void skipString() {
+        consume('"');
+        while (true) {
+            if (pos >= limit && !fill()) {
+                throw error("Unterminated string");
+            }
+            char c = buffer[pos++];
+            if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                readEscape();
+            }
+        }
+    }
+
+    private char readEscape() {
+        char c = nextChar();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; ++i) {
+                    int digit = Character.digit(nextChar(), 16);
+                    if (digit < 0) {
+                        throw error("Wrong unicode escape");
+                    }
+                    code = (code << 4) | digit;
+                }
+                return (char) code;
+            default:
+                throw error("Wrong escape character: " + c);
+        }
+    }
+
+    private Object readScalar() {
+        String token = readToken();
+        switch (token) {
+            case "true":
+                return Boolean.TRUE;
+            case "false":
+                return Boolean.FALSE;
+            case "null":
+                return null;
+            default:
+                return parseNumber(token);
+        }
+    }
+
+    private Number parseNumber(String token) {
+        try {
+            return toNumber(token);
+        } catch (NumberFormatException e) {
+            throw error("Unexpected token: " + token);
+        }
+    }
+
+    /**
+     * Convert number token to the same type as json-smart parser: Integer, Long or BigInteger for integers,
+     * Double or BigDecimal (for long tokens) for decimals
+     * @param token number token
+     * @return number
+     * @throws NumberFormatException when token isn't number
+     */
+    static Number toNumber(String token) {
+        if (token.indexOf('.') >= 0 || token.indexOf('e') >= 0 || token.indexOf('E') >= 0) {
+            return token.length() > 18 ? new BigDecimal(token) : (Number) Double.parseDouble(token);
+        }
+        if (token.length() <= 18) {
+            long value = Long.parseLong(token);
+            return value == (int) value ? (Number) (int) value : (Number) value;
+        }
+        BigInteger value = new BigInteger(token);
+        return value.bitLength() < Long.SIZE ? (Number) value.longValue() : value;
+    }
+
+    private String readToken() {
+        readTokenText();
+        return text.toString();
+    }
+
+    private void readTokenText() {
+        if (peek() < 0) {
+            throw error("Unexpected end of json");
+        }
+        text.setLength(0);
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if (c == ',' || c == ':' || c == '}' || c == ']' || c == '{' || c == '[' || c == '"'
+                    || c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                break;
+            }
+            text.append(c);
+            ++pos;
+        }
+        if (text.length() == 0) {
+            throw error("Unexpected character: " + buffer[pos]);
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private char nextChar() {
+        if (pos >= limit && !fill()) {
+            throw error("Unexpected end of json");
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() {
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+            pos = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read json", e);
+        }
+    }
+
+    private InvalidJsonException error(String message) {
+        return new InvalidJsonException(message);
+    }
+}
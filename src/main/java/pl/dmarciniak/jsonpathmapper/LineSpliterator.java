@@ -0,0 +1,161 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import pl.dmarciniak.jsonpathmapper.exception.JsonParseException;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator of lines of newline-delimited json file (NDJSON).
+ * File is memory-mapped in segments and each line is returned as ByteBuffer view of mapped segment (without copying).
+ * Spliterator covers range of bytes with whole lines, splitting divides range in the middle at nearest line end,
+ * so parallel stream maps different parts of file on different cores.
+ * Empty lines are skipped and line ends can be "\n" or "\r\n".
+ */
+final class LineSpliterator implements Spliterator<ByteBuffer> {
+
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int MIN_SPLIT_SIZE = 64 * 1024;
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final FileChannel channel;
+    private final int segmentSize;
+    private long position;
+    private long end;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+
+    /**
+     * @param channel channel of file, shared by all split spliterators
+     * @param start position of first byte of range (beginning of line)
+     * @param end position after last byte of range (end of file or position after line end)
+     * @param segmentSize maximal size of mapped segment (segment is bigger when single line doesn't fit in it)
+     */
+    LineSpliterator(FileChannel channel, long start, long end, int segmentSize) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ByteBuffer> action) {
+        while (position < end) {
+            ByteBuffer line = nextLine();
+            if (line.hasRemaining()) {
+                action.accept(line);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<ByteBuffer> trySplit() {
+        long remaining = end - position;
+        if (remaining < 2L * MIN_SPLIT_SIZE) {
+            return null;
+        }
+        long split = nextLineStart(position + remaining / 2);
+        if (split >= end) {
+            return null;
+        }
+        LineSpliterator prefix = new LineSpliterator(channel, position, split, segmentSize);
+        position = split;
+        segment = null;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Read line at current position and move position to the beginning of next line
+     * @return view of line without line end
+     */
+    private ByteBuffer nextLine() {
+        int segmentSize = this.segmentSize;
+        while (true) {
+            if (segment == null || position < segmentStart || position >= segmentStart + segment.limit()) {
+                map(position, segmentSize);
+            }
+            int lineStart = (int) (position - segmentStart);
+            int lineEnd = indexOfNewLine(segment, lineStart);
+            if (lineEnd < 0 && segmentStart + segment.limit() < end) {
+                // line doesn't fit in segment, map bigger segment starting at the line
+                if (segment.limit() - lineStart == Integer.MAX_VALUE) {
+                    throw new JsonParseException("Line of json file is too long", null);
+                }
+                segmentSize = (int) Math.min(Integer.MAX_VALUE, Math.max(segmentSize, 2L * (segment.limit() - lineStart)));
+                map(position, segmentSize);
+                continue;
+            }
+            int contentEnd = lineEnd < 0 ? segment.limit() : lineEnd;
+            position = segmentStart + (lineEnd < 0 ? segment.limit() : lineEnd + 1);
+            if (contentEnd > lineStart && segment.get(contentEnd - 1) == '\r') {
+                --contentEnd;
+            }
+            ByteBuffer line = segment.duplicate();
+            ((Buffer) line).limit(contentEnd).position(lineStart);
+            return line;
+        }
+    }
+
+    private void map(long start, int size) {
+        try {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, end - start));
+            segmentStart = start;
+        } catch (IOException e) {
+            throw new JsonParseException("Cannot read json file", e);
+        }
+    }
+
+    private static int indexOfNewLine(ByteBuffer buffer, int from) {
+        for (int i = from, limit = buffer.limit(); i < limit; ++i) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find beginning of first line starting after given position
+     * @return position after nearest line end or end of range
+     */
+    private long nextLineStart(long from) {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long scanPosition = from;
+        try {
+            while (scanPosition < end) {
+                ((Buffer) buffer).clear().limit((int) Math.min(buffer.capacity(), end - scanPosition));
+                int read = channel.read(buffer, scanPosition);
+                if (read <= 0) {
+                    return end;
+                }
+                ((Buffer) buffer).flip();
+                int newLine = indexOfNewLine(buffer, 0);
+                if (newLine >= 0) {
+                    return scanPosition + newLine + 1;
+                }
+                scanPosition += read;
+            }
+            return end;
+        } catch (IOException e) {
+            throw new JsonParseException("Cannot read json file", e);
+        }
+    }
+}
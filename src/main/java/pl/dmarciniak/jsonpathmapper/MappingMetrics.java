@@ -0,0 +1,88 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.List;
+
+/**
+ * Hook for measuring mapping (see JsonPathMapperBuilder.metrics).
+ * Fields are identified by index in order of field mappers of mapper.
+ * Methods can be called concurrently (parallelMap, mapAll, mapAsync), so implementation has to be thread-safe.
+ * MetricsCollector is implementation counting all values with LongAdders.
+ */
+public interface MappingMetrics {
+
+    /**
+     * Metrics which aren't recorded, mapper doesn't even read time when they are used (default)
+     */
+    MappingMetrics NONE = new MappingMetrics() {
+
+        @Override
+        public void parsed(long nanos) {
+        }
+
+        @Override
+        public void pathsEvaluated(long nanos) {
+        }
+
+        @Override
+        public void fieldRead(int field, long nanos) {
+        }
+
+        @Override
+        public void fieldPrepared(int field, long nanos) {
+        }
+
+        @Override
+        public void fieldMissing(int field) {
+        }
+
+        @Override
+        public void fieldFailed(int field, FieldError.Kind kind) {
+        }
+    };
+
+    /**
+     * Called once when mapper is built
+     * @param paths json paths of fields of mapper
+     */
+    default void register(List<String> paths) {
+    }
+
+    /**
+     * Json document was parsed (for mapStreaming: read as token stream together with evaluation of paths)
+     * @param nanos time of parsing
+     */
+    void parsed(long nanos);
+
+    /**
+     * Definite paths of all fields were evaluated in single pass over parsed json document
+     * @param nanos time of evaluation
+     */
+    void pathsEvaluated(long nanos);
+
+    /**
+     * Path of field which isn't definite was read by json-path
+     * @param field index of field
+     * @param nanos time of lookup
+     */
+    void fieldRead(int field, long nanos);
+
+    /**
+     * Value of field was validated and mapped (also when validator or mapper failed)
+     * @param field index of field
+     * @param nanos time of validator and mapper
+     */
+    void fieldPrepared(int field, long nanos);
+
+    /**
+     * Field doesn't exist in json document (also optional field)
+     * @param field index of field
+     */
+    void fieldMissing(int field);
+
+    /**
+     * Field cannot be mapped
+     * @param field index of field
+     * @param kind kind of failure (NOT_FOUND, WRONG_TYPE, VALIDATION_FAILED or MAPPER_FAILED)
+     */
+    void fieldFailed(int field, FieldError.Kind kind);
+}
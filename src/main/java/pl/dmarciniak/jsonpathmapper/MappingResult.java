@@ -0,0 +1,66 @@
+package pl.dmarciniak.jsonpathmapper;
+
+/**
+ * Result of mapping single json document in batch (see JsonPathMapper.mapAll)
+ * @param <T> type of target class
+ */
+public final class MappingResult<T> {
+
+    private final long index;
+    private final T value;
+    private final RuntimeException failure;
+
+    private MappingResult(long index, T value, RuntimeException failure) {
+        this.index = index;
+        this.value = value;
+        this.failure = failure;
+    }
+
+    static <T> MappingResult<T> success(long index, T value) {
+        return new MappingResult<>(index, value, null);
+    }
+
+    static <T> MappingResult<T> failure(long index, RuntimeException failure) {
+        return new MappingResult<>(index, null, failure);
+    }
+
+    /**
+     * Position of json document in batch
+     * @return index of document, starting from 0
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * @return true when json document was mapped
+     */
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * Mapped instance of target class
+     * @return instance of target class with mapped data
+     * @throws RuntimeException failure of mapping when json document wasn't mapped
+     */
+    public T getValue() {
+        if (failure != null) {
+            throw failure;
+        }
+        return value;
+    }
+
+    /**
+     * Failure of mapping (e.g. JsonParseException, JsonFieldNotFoundException)
+     * @return failure or null when json document was mapped
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "MappingResult[" + index + ": " + value + "]" : "MappingResult[" + index + " failed: " + failure + "]";
+    }
+}
@@ -0,0 +1,135 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics counting parse time, lookup time of paths, time of validators and mappers
+ * and failures of fields with striped counters (LongAdder), so threads mapping concurrently don't contend.
+ * Single collector can be used by one mapper only.
+ */
+public final class MetricsCollector implements MappingMetrics {
+
+    private static final FieldError.Kind[] KINDS = FieldError.Kind.values();
+
+    private final Timer parse = new Timer();
+    private final Timer pathsEvaluation = new Timer();
+    private volatile List<String> paths = Collections.emptyList();
+    private volatile FieldCounters[] fields = new FieldCounters[0];
+
+    @Override
+    public synchronized void register(List<String> paths) {
+        if (fields.length > 0) {
+            throw new IllegalStateException("Metrics collector is already used by other mapper");
+        }
+        FieldCounters[] counters = new FieldCounters[paths.size()];
+        for (int i = 0; i < counters.length; ++i) {
+            counters[i] = new FieldCounters();
+        }
+        this.paths = Collections.unmodifiableList(new ArrayList<>(paths));
+        this.fields = counters;
+    }
+
+    @Override
+    public void parsed(long nanos) {
+        parse.record(nanos);
+    }
+
+    @Override
+    public void pathsEvaluated(long nanos) {
+        pathsEvaluation.record(nanos);
+    }
+
+    @Override
+    public void fieldRead(int field, long nanos) {
+        fields[field].read.record(nanos);
+    }
+
+    @Override
+    public void fieldPrepared(int field, long nanos) {
+        fields[field].prepare.record(nanos);
+    }
+
+    @Override
+    public void fieldMissing(int field) {
+        fields[field].missing.increment();
+    }
+
+    @Override
+    public void fieldFailed(int field, FieldError.Kind kind) {
+        fields[field].failures[kind.ordinal()].increment();
+    }
+
+    /**
+     * Snapshot of current values, counters are still updated by mapper
+     * @return metrics snapshot
+     */
+    public MetricsSnapshot snapshot() {
+        List<String> fieldPaths = paths;
+        FieldCounters[] counters = fields;
+        List<MetricsSnapshot.Field> fieldSnapshots = new ArrayList<>(counters.length);
+        for (int i = 0; i < counters.length; ++i) {
+            long[] failures = new long[KINDS.length];
+            for (int kind = 0; kind < failures.length; ++kind) {
+                failures[kind] = counters[i].failures[kind].sum();
+            }
+            fieldSnapshots.add(new MetricsSnapshot.Field(fieldPaths.get(i), counters[i].read.snapshot(),
+                    counters[i].prepare.snapshot(), counters[i].missing.sum(), failures));
+        }
+        return new MetricsSnapshot(parse.snapshot(), pathsEvaluation.snapshot(), fieldSnapshots);
+    }
+
+    /**
+     * Reset all counters
+     */
+    public void reset() {
+        parse.reset();
+        pathsEvaluation.reset();
+        for (FieldCounters counters : fields) {
+            counters.read.reset();
+            counters.prepare.reset();
+            counters.missing.reset();
+            for (LongAdder failure : counters.failures) {
+                failure.reset();
+            }
+        }
+    }
+
+    private static final class FieldCounters {
+        private final Timer read = new Timer();
+        private final Timer prepare = new Timer();
+        private final LongAdder missing = new LongAdder();
+        private final LongAdder[] failures = new LongAdder[KINDS.length];
+
+        private FieldCounters() {
+            for (int i = 0; i < failures.length; ++i) {
+                failures[i] = new LongAdder();
+            }
+        }
+    }
+
+    private static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private MetricsSnapshot.Timer snapshot() {
+            return new MetricsSnapshot.Timer(count.sum(), totalNanos.sum(), maxNanos.get());
+        }
+
+        private void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Values of metrics collected by MetricsCollector at some moment
+ */
+public final class MetricsSnapshot {
+
+    private final Timer parse;
+    private final Timer pathsEvaluation;
+    private final List<Field> fields;
+
+    MetricsSnapshot(Timer parse, Timer pathsEvaluation, List<Field> fields) {
+        this.parse = parse;
+        this.pathsEvaluation = pathsEvaluation;
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * @return time of parsing json documents
+     */
+    public Timer getParse() {
+        return parse;
+    }
+
+    /**
+     * @return time of evaluating definite paths of all fields in single pass over json documents
+     */
+    public Timer getPathsEvaluation() {
+        return pathsEvaluation;
+    }
+
+    /**
+     * @return metrics of fields, in order of field mappers
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Metrics of field with given path
+     * @param path json path of field
+     * @return metrics of first field with given path
+     * @throws IllegalArgumentException when mapper has no field with given path
+     */
+    public Field getField(String path) {
+        for (Field field : fields) {
+            if (field.getPath().equals(path)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("No field with path: " + path);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot[parse=" + parse + ", pathsEvaluation=" + pathsEvaluation + ", fields=" + fields + "]";
+    }
+
+    /**
+     * Number and time of measured operations
+     */
+    public static final class Timer {
+
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        Timer(long count, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * @return number of operations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return total time of operations in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return time of the longest operation in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return average time of operation in nanoseconds, 0 when there was no operation
+         */
+        public double getAverageNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        @Override
+        public String toString() {
+            return "Timer[count=" + count + ", totalNanos=" + totalNanos + ", maxNanos=" + maxNanos + "]";
+        }
+    }
+
+    /**
+     * Metrics of single field
+     */
+    public static final class Field {
+
+        private final String path;
+        private final Timer read;
+        private final Timer prepare;
+        private final long missing;
+        private final long[] failures;
+
+        Field(String path, Timer read, Timer prepare, long missing, long[] failures) {
+            this.path = path;
+            this.read = read;
+            this.prepare = prepare;
+            this.missing = missing;
+            this.failures = failures;
+        }
+
+        /**
+         * @return json path of field
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return time of reading field by json-path (only paths which aren't definite)
+         */
+        public Timer getRead() {
+            return read;
+        }
+
+        /**
+         * @return time of validator and mapper of field
+         */
+        public Timer getPrepare() {
+            return prepare;
+        }
+
+        /**
+         * @return number of json documents without field (also for optional field)
+         */
+        public long getMissing() {
+            return missing;
+        }
+
+        /**
+         * Number of failures of given kind
+         * @param kind kind of failure
+         * @return number of failures
+         */
+        public long getFailures(FieldError.Kind kind) {
+            return failures[kind.ordinal()];
+        }
+
+        /**
+         * @return number of failures of field with wrong type
+         */
+        public long getCastFailures() {
+            return getFailures(FieldError.Kind.WRONG_TYPE);
+        }
+
+        /**
+         * @return number of failures of validator of field
+         */
+        public long getValidationFailures() {
+            return getFailures(FieldError.Kind.VALIDATION_FAILED);
+        }
+
+        @Override
+        public String toString() {
+            return "Field[" + path + ": read=" + read + ", prepare=" + prepare + ", missing=" + missing
+                    + ", castFailures=" + getCastFailures() + ", validationFailures=" + getValidationFailures() + "]";
+        }
+    }
+}
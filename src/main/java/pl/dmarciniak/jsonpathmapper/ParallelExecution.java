@@ -0,0 +1,137 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Executes preparation of fields for parallel map.
+ * Fields are split into chunks executed on given executor, calling thread also takes chunks,
+ * so mapping never waits for chunk which isn't started yet (it's safe also for executors with bounded queue or pool).
+ * In adaptive mode cost of fields preparation is measured on sampled sequential calls
+ * and parallel execution is used only when it's expensive enough.
+ */
+final class ParallelExecution {
+
+    static final ParallelExecution DEFAULT = new ParallelExecution(ForkJoinPool.commonPool(), 0, 0, false);
+
+    private static final long ADAPTIVE_PARALLEL_COST_NANOS = 100_000;
+    private static final int ADAPTIVE_WARMUP_CALLS = 16;
+    private static final int ADAPTIVE_SAMPLE_RATE = 256;
+
+    private final Executor executor;
+    private final int threshold;
+    private final int chunkSize;
+    private final boolean adaptive;
+    private final AtomicLong calls = new AtomicLong();
+    private volatile long costNanos;
+
+    /**
+     * @param executor executor for chunks of fields
+     * @param threshold minimal number of fields for parallel execution
+     * @param chunkSize number of fields in single task, 0 to split fields evenly between executor threads
+     * @param adaptive true to choose sequential or parallel execution by measured cost
+     */
+    ParallelExecution(Executor executor, int threshold, int chunkSize, boolean adaptive) {
+        this.executor = executor;
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Execute task for all fields
+     * @param fields number of fields
+     * @param task task for single field
+     */
+    void execute(int fields, IntConsumer task) {
+        if (fields < Math.max(threshold, 2)) {
+            sequential(fields, task);
+        } else if (!adaptive) {
+            parallel(fields, task);
+        } else {
+            long call = calls.getAndIncrement();
+            if (call < ADAPTIVE_WARMUP_CALLS || call % ADAPTIVE_SAMPLE_RATE == 0) {
+                long start = System.nanoTime();
+                sequential(fields, task);
+                long cost = System.nanoTime() - start;
+                costNanos = call == 0 ? cost : (costNanos * 3 + cost) / 4;
+            } else if (costNanos >= ADAPTIVE_PARALLEL_COST_NANOS) {
+                parallel(fields, task);
+            } else {
+                sequential(fields, task);
+            }
+        }
+    }
+
+    private static void sequential(int fields, IntConsumer task) {
+        for (int i = 0; i < fields; ++i) {
+            task.accept(i);
+        }
+    }
+
+    private void parallel(int fields, IntConsumer task) {
+        int size = chunkSize > 0 ? chunkSize : Math.max(1, (fields + parallelism() - 1) / parallelism());
+        int chunks = (fields + size - 1) / size;
+        if (chunks < 2) {
+            sequential(fields, task);
+            return;
+        }
+        AtomicInteger nextChunk = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(chunks);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                try {
+                    if (failure.get() == null) {
+                        int end = Math.min(fields, (chunk + 1) * size);
+                        for (int i = chunk * size; i < end; ++i) {
+                            task.accept(i);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    finished.countDown();
+                }
+            }
+        };
+        for (int i = 1; i < chunks; ++i) {
+            executor.execute(worker);
+        }
+        worker.run();
+        awaitUninterruptibly(finished);
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        } else if (e != null) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int parallelism() {
+        return executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+    }
+}
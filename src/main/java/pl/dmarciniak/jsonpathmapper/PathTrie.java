@@ -0,0 +1,485 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prefix tree of definite json paths (no wildcards, filters, deep scans or functions).
+ * All paths are merged at build time, so document is walked once per map call
+ * and every shared node is visited only once.
+ * Each path is identified by slot number, value of path is stored in the same slot of result values.
+ */
+final class PathTrie {
+
+    /**
+     * Marker for value of path which doesn't exist in document
+     */
+    static final Object MISSING = new Object();
+
+    private final Node root = new Node();
+    private final int slots;
+    private int paths;
+    private int nodes;
+    private int segments;
+
+    /**
+     * @param slots number of slots in values (paths not handled by trie also have slots)
+     */
+    PathTrie(int slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * Try to add path to trie
+     * @param path compiled json path
+     * @param slot number of slot for path value
+     * @param primitiveType type of number read without boxing in streaming mode, or null for boxed value
+     * @return true if path is definite and was added, false if path has to be evaluated by json-path
+     */
+    boolean add(JsonPath path, int slot, PrimitiveType primitiveType) {
+        List<Object> segments = segments(path);
+        if (segments == null) {
+            return false;
+        }
+        node(segments).addSlot(slot, primitiveType);
+        ++paths;
+        return true;
+    }
+
+    /**
+     * Add definite beginning of path which isn't supported by trie (see definitePrefix).
+     * Value of prefix is stored in slot, so missing prefix shows that whole path doesn't exist
+     * without evaluating it by json-path.
+     * @param path compiled json path
+     * @param slot number of slot for prefix value
+     * @return true if non empty prefix was added
+     */
+    boolean addPrefix(JsonPath path, int slot) {
+        List<Object> segments = definitePrefix(path);
+        if (segments == null || segments.isEmpty()) {
+            return false;
+        }
+        node(segments).addSlot(slot, null);
+        ++paths;
+        return true;
+    }
+
+    /**
+     * Number of segments of added paths which are walked together with other paths
+     * (shared parents and identical paths), so they are visited once per document
+     */
+    int sharedSegments() {
+        return segments - nodes;
+    }
+
+    private Node node(List<Object> pathSegments) {
+        Node node = root;
+        for (Object segment : pathSegments) {
+            Node child = node.child(segment);
+            if (child.isEmpty()) {
+                ++nodes;
+            }
+            node = child;
+        }
+        segments += pathSegments.size();
+        return node;
+    }
+
+    /**
+     * Walk document and collect values of all paths
+     * @param document parsed json document (root object)
+     * @param provider json provider used to parse document
+     * @return values indexed by slot, with MISSING for not existing paths and slots not handled by trie
+     */
+    Values evaluate(Object document, JsonProvider provider) {
+        Values values = newValues();
+        root.evaluate(document, provider, values);
+        return values;
+    }
+
+    /**
+     * Walk document and collect values of all paths into reused values (previous values are cleared)
+     * @param document parsed json document (root object)
+     * @param provider json provider used to parse document
+     * @param values values created by newValues of this trie
+     */
+    void evaluate(Object document, JsonProvider provider, Values values) {
+        values.reset(paths);
+        root.evaluate(document, provider, values);
+    }
+
+    /**
+     * Walk tape of json and collect values of all paths, only values of paths are decoded
+     * @param tape indexed json
+     * @param provider json provider used to create objects and arrays
+     * @return values indexed by slot, with MISSING for not existing paths and slots not handled by trie
+     */
+    Values evaluateTape(JsonTape tape, JsonProvider provider) {
+        Values values = newValues();
+        if (values.remaining > 0) {
+            root.evaluate(tape, JsonTape.ROOT, provider, values);
+        }
+        return values;
+    }
+
+    /**
+     * Create empty values for this trie, e.g. to reuse them for many documents
+     */
+    Values newValues() {
+        return new Values(slots, paths);
+    }
+
+    /**
+     * Read document from token stream and collect values of all paths.
+     * Subtrees not needed by any path are skipped without materialization
+     * and reading stops as soon as values of all paths are found.
+     * Numbers of primitive paths are read without boxing.
+     * @param reader token reader positioned at the beginning of document
+     * @param provider json provider used to create values of paths
+     * @return values indexed by slot, with MISSING for not existing paths and slots not handled by trie
+     */
+    Values stream(JsonTokenReader reader, JsonProvider provider) {
+        Values values = newValues();
+        if (values.remaining > 0) {
+            root.stream(reader, provider, values);
+        }
+        return values;
+    }
+
+    /**
+     * Split definite json path into property names (String) and array indexes (Integer).
+     * Both dot and bracket notation are supported.
+     * @param path compiled json path
+     * @return list of segments or null when path isn't supported by trie
+     */
+    static List<Object> segments(JsonPath path) {
+        if (!path.isDefinite()) {
+            return null;
+        }
+        return parse(path.getPath(), false);
+    }
+
+    /**
+     * Longest definite beginning of json path which is supported by trie,
+     * e.g. [items] for $.items[*].name or [a, b] for $.a.b.length()
+     * @param path compiled json path
+     * @return list of segments (empty when path starts with unsupported segment) or null for unknown path syntax
+     */
+    static List<Object> definitePrefix(JsonPath path) {
+        return parse(path.getPath(), true);
+    }
+
+    private static List<Object> parse(String str, boolean prefix) {
+        if (str.isEmpty() || str.charAt(0) != '$') {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        int pos = 1;
+        while (pos < str.length()) {
+            char c = str.charAt(pos);
+            if (c == '.') {
+                int end = pos + 1;
+                while (end < str.length() && isPropertyChar(str.charAt(end))) {
+                    ++end;
+                }
+                if (end == pos + 1 || (prefix && end < str.length() && str.charAt(end) == '(')) {
+                    return prefix ? segments : null;
+                }
+                segments.add(str.substring(pos + 1, end));
+                pos = end;
+            } else if (c == '[') {
+                int end = str.indexOf(']', pos);
+                Object segment = end < 0 ? null : bracketSegment(str.substring(pos + 1, end));
+                if (segment == null) {
+                    return prefix ? segments : null;
+                }
+                segments.add(segment);
+                pos = end + 1;
+            } else {
+                return prefix ? segments : null;
+            }
+        }
+        return segments;
+    }
+
+    private static Object bracketSegment(String content) {
+        if (content.length() >= 2 && (content.charAt(0) == '\'' || content.charAt(0) == '"')) {
+            char quote = content.charAt(0);
+            String name = content.substring(1, content.length() - 1);
+            if (content.charAt(content.length() - 1) != quote || name.indexOf('\'') >= 0 || name.indexOf('"') >= 0 || name.indexOf('\\') >= 0) {
+                return null;
+            }
+            return name;
+        }
+        if (content.isEmpty() || content.length() > 9) {
+            return null;
+        }
+        for (int i = 0; i < content.length(); ++i) {
+            if (!Character.isDigit(content.charAt(i))) {
+                return null;
+            }
+        }
+        return Integer.valueOf(content);
+    }
+
+    private static boolean isPropertyChar(char c) {
+        return c != '.' && c != '[' && c != ']' && c != '(' && c != ')' && c != '*' && c != '?' && c != '@'
+                && c != '\'' && c != '"' && c != ',' && !Character.isWhitespace(c);
+    }
+
+    /**
+     * Values of paths indexed by slot.
+     * Value is either object (MISSING when path doesn't exist) or primitive "bits" (see {@link PrimitiveType}).
+     */
+    static final class Values {
+        private static final Object PRIMITIVE = new Object();
+
+        private final Object[] values;
+        private final long[] primitives;
+        private int remaining;
+
+        Values(int slots, int paths) {
+            this.values = new Object[slots];
+            this.primitives = new long[slots];
+            reset(paths);
+        }
+
+        void reset(int paths) {
+            this.remaining = paths;
+            Arrays.fill(values, MISSING);
+        }
+
+        Object get(int slot) {
+            return values[slot];
+        }
+
+        boolean isPrimitive(int slot) {
+            return values[slot] == PRIMITIVE;
+        }
+
+        long getPrimitive(int slot) {
+            return primitives[slot];
+        }
+
+        void set(int slot, Object value) {
+            if (values[slot] == MISSING) {
+                --remaining;
+            }
+            values[slot] = value;
+        }
+
+        void setPrimitive(int slot, long bits) {
+            set(slot, PRIMITIVE);
+            primitives[slot] = bits;
+        }
+
+        /**
+         * Replace value of slot after evaluation (e.g. with mapped value)
+         */
+        void replace(int slot, Object value) {
+            values[slot] = value;
+        }
+
+        /**
+         * Replace value of slot after evaluation with primitive value
+         */
+        void replacePrimitive(int slot, long bits) {
+            values[slot] = PRIMITIVE;
+            primitives[slot] = bits;
+        }
+    }
+
+    private static final class Node {
+        /**
+         * Objects of tape are searched by each name of child when there is up to this number of names,
+         * otherwise all entries of object are looked up in hash table of names
+         */
+        private static final int SEARCHED_NAMES = 4;
+
+        private final Map<Object, Node> children = new HashMap<>();
+        private Object[] childSegments = new Object[0];
+        private Node[] childNodes = new Node[0];
+        private int[] nameTable = new int[0];
+        private int names;
+        private int[] slots = new int[0];
+        private PrimitiveType[] primitiveTypes = new PrimitiveType[0];
+        private boolean primitive;
+
+        Node child(Object segment) {
+            Node child = children.get(segment);
+            if (child == null) {
+                child = new Node();
+                children.put(segment, child);
+                childSegments = Arrays.copyOf(childSegments, childSegments.length + 1);
+                childSegments[childSegments.length - 1] = segment;
+                childNodes = Arrays.copyOf(childNodes, childNodes.length + 1);
+                childNodes[childNodes.length - 1] = child;
+                if (segment instanceof String) {
+                    addName(childSegments.length - 1);
+                }
+            }
+            return child;
+        }
+
+        /**
+         * Add child to open addressing hash table of names (entry is index of child + 1, 0 is empty entry)
+         */
+        private void addName(int childIndex) {
+            if ((names + 1) * 2 > nameTable.length) {
+                int[] entries = nameTable;
+                nameTable = new int[Math.max(16, entries.length * 2)];
+                for (int entry : entries) {
+                    if (entry != 0) {
+                        insertName(entry);
+                    }
+                }
+            }
+            insertName(childIndex + 1);
+            ++names;
+        }
+
+        private void insertName(int entry) {
+            int mask = nameTable.length - 1;
+            int i = spread(childSegments[entry - 1].hashCode()) & mask;
+            while (nameTable[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            nameTable[i] = entry;
+        }
+
+        private int childByName(JsonTape tape, int name) {
+            int mask = nameTable.length - 1;
+            for (int i = spread(tape.nameHash(name)) & mask; nameTable[i] != 0; i = (i + 1) & mask) {
+                int child = nameTable[i] - 1;
+                if (tape.nameEquals(name, (String) childSegments[child])) {
+                    return child;
+                }
+            }
+            return -1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        boolean isEmpty() {
+            return children.isEmpty() && slots.length == 0;
+        }
+
+        void addSlot(int slot, PrimitiveType primitiveType) {
+            slots = Arrays.copyOf(slots, slots.length + 1);
+            slots[slots.length - 1] = slot;
+            primitiveTypes = Arrays.copyOf(primitiveTypes, primitiveTypes.length + 1);
+            primitiveTypes[primitiveTypes.length - 1] = primitiveType;
+            primitive = true;
+            for (PrimitiveType type : primitiveTypes) {
+                primitive &= type != null;
+            }
+        }
+
+        void evaluate(Object value, JsonProvider provider, Values values) {
+            for (int slot : slots) {
+                values.set(slot, value);
+            }
+            if (children.isEmpty()) {
+                return;
+            }
+            boolean isMap = provider.isMap(value);
+            boolean isArray = !isMap && provider.isArray(value);
+            for (int i = 0; i < childSegments.length; ++i) {
+                Object segment = childSegments[i];
+                if (isMap && segment instanceof String) {
+                    Object childValue = provider.getMapValue(value, (String) segment);
+                    if (childValue != JsonProvider.UNDEFINED) {
+                        childNodes[i].evaluate(childValue, provider, values);
+                    }
+                } else if (isArray && segment instanceof Integer) {
+                    int index = (Integer) segment;
+                    if (index < provider.length(value)) {
+                        childNodes[i].evaluate(provider.getArrayIndex(value, index), provider, values);
+                    }
+                }
+            }
+        }
+
+        void evaluate(JsonTape tape, int token, JsonProvider provider, Values values) {
+            if (slots.length > 0) {
+                evaluate(tape.value(token, provider), provider, values);
+                return;
+            }
+            char type = tape.type(token);
+            if (type == '{' && names > SEARCHED_NAMES) {
+                for (int name = tape.firstName(token); tape.hasName(token, name); name = tape.nextName(name)) {
+                    int child = childByName(tape, name);
+                    if (child >= 0) {
+                        childNodes[child].evaluate(tape, name + 1, provider, values);
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < childSegments.length; ++i) {
+                Object segment = childSegments[i];
+                int child = -1;
+                if (type == '{' && segment instanceof String) {
+                    child = tape.field(token, (String) segment);
+                } else if (type == '[' && segment instanceof Integer) {
+                    child = tape.element(token, (Integer) segment);
+                }
+                if (child >= 0) {
+                    childNodes[i].evaluate(tape, child, provider, values);
+                }
+            }
+        }
+
+        boolean stream(JsonTokenReader reader, JsonProvider provider, Values values) {
+            if (primitive && children.isEmpty() && reader.isNumberNext()) {
+                reader.readNumber();
+                for (int i = 0; i < slots.length; ++i) {
+                    try {
+                        values.setPrimitive(slots[i], reader.numberBits(primitiveTypes[i]));
+                    } catch (ClassCastException e) {
+                        // number doesn't fit the field, boxed value fails when the field is prepared, like in DOM mode
+                        values.set(slots[i], reader.number());
+                    }
+                }
+                return values.remaining == 0;
+            }
+            if (slots.length > 0) {
+                evaluate(reader.readValue(provider), provider, values);
+                return values.remaining == 0;
+            }
+            int c = reader.peek();
+            if (c == '{') {
+                reader.consume('{');
+                for (boolean first = true; reader.hasNext('}', first); first = false) {
+                    Node child = children.get(reader.nextName());
+                    if (child == null) {
+                        reader.skipValue();
+                    } else if (child.stream(reader, provider, values)) {
+                        return true;
+                    }
+                }
+            } else if (c == '[') {
+                reader.consume('[');
+                int index = 0;
+                for (boolean first = true; reader.hasNext(']', first); first = false) {
+                    Node child = children.get(index++);
+                    if (child == null) {
+                        reader.skipValue();
+                    } else if (child.stream(reader, provider, values)) {
+                        return true;
+                    }
+                }
+            } else {
+                reader.skipValue();
+            }
+            return false;
+        }
+    }
+}
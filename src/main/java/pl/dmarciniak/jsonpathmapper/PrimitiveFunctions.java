@@ -0,0 +1,148 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.function.*;
+
+/**
+ * Validators, mappers and setters of primitive field mappers.
+ * Each of them works on unboxed value ("bits", see {@link PrimitiveType}),
+ * but it also implements standard functional interface, so it can be mixed with boxed functions.
+ */
+final class PrimitiveFunctions {
+
+    private PrimitiveFunctions() {
+    }
+
+    static long toBits(PrimitiveType type, Object value) {
+        if (!(value instanceof Number)) {
+            throw new ClassCastException("Expected number for " + type + " field, found: " + (value == null ? "null" : value.getClass().getName()));
+        }
+        return type.fromNumber((Number) value);
+    }
+
+    static Validator intValidator(IntPredicate validator) {
+        return new Validator(PrimitiveType.INT) {
+            @Override
+            boolean testBits(long bits) {
+                return validator.test((int) bits);
+            }
+        };
+    }
+
+    static Validator longValidator(LongPredicate validator) {
+        return new Validator(PrimitiveType.LONG) {
+            @Override
+            boolean testBits(long bits) {
+                return validator.test(bits);
+            }
+        };
+    }
+
+    static Validator doubleValidator(DoublePredicate validator) {
+        return new Validator(PrimitiveType.DOUBLE) {
+            @Override
+            boolean testBits(long bits) {
+                return validator.test(Double.longBitsToDouble(bits));
+            }
+        };
+    }
+
+    static Mapper intMapper(IntUnaryOperator mapper) {
+        return new Mapper(PrimitiveType.INT) {
+            @Override
+            long applyBits(long bits) {
+                return mapper.applyAsInt((int) bits);
+            }
+        };
+    }
+
+    static Mapper longMapper(LongUnaryOperator mapper) {
+        return new Mapper(PrimitiveType.LONG) {
+            @Override
+            long applyBits(long bits) {
+                return mapper.applyAsLong(bits);
+            }
+        };
+    }
+
+    static Mapper doubleMapper(DoubleUnaryOperator mapper) {
+        return new Mapper(PrimitiveType.DOUBLE) {
+            @Override
+            long applyBits(long bits) {
+                return Double.doubleToRawLongBits(mapper.applyAsDouble(Double.longBitsToDouble(bits)));
+            }
+        };
+    }
+
+    static <W> Setter<W> intSetter(ObjIntConsumer<W> setter) {
+        return new Setter<W>(PrimitiveType.INT) {
+            @Override
+            void acceptBits(W targetObj, long bits) {
+                setter.accept(targetObj, (int) bits);
+            }
+        };
+    }
+
+    static <W> Setter<W> longSetter(ObjLongConsumer<W> setter) {
+        return new Setter<W>(PrimitiveType.LONG) {
+            @Override
+            void acceptBits(W targetObj, long bits) {
+                setter.accept(targetObj, bits);
+            }
+        };
+    }
+
+    static <W> Setter<W> doubleSetter(ObjDoubleConsumer<W> setter) {
+        return new Setter<W>(PrimitiveType.DOUBLE) {
+            @Override
+            void acceptBits(W targetObj, long bits) {
+                setter.accept(targetObj, Double.longBitsToDouble(bits));
+            }
+        };
+    }
+
+    abstract static class Validator implements Predicate<Object> {
+        final PrimitiveType type;
+
+        Validator(PrimitiveType type) {
+            this.type = type;
+        }
+
+        abstract boolean testBits(long bits);
+
+        @Override
+        public boolean test(Object value) {
+            return testBits(toBits(type, value));
+        }
+    }
+
+    abstract static class Mapper implements Function<Object, Object> {
+        final PrimitiveType type;
+
+        Mapper(PrimitiveType type) {
+            this.type = type;
+        }
+
+        abstract long applyBits(long bits);
+
+        @Override
+        public Object apply(Object value) {
+            return type.box(applyBits(toBits(type, value)));
+        }
+    }
+
+    abstract static class Setter<W> implements BiFunction<W, Object, W> {
+        final PrimitiveType type;
+
+        Setter(PrimitiveType type) {
+            this.type = type;
+        }
+
+        abstract void acceptBits(W targetObj, long bits);
+
+        @Override
+        public W apply(W targetObj, Object value) {
+            acceptBits(targetObj, toBits(type, value));
+            return targetObj;
+        }
+    }
+}
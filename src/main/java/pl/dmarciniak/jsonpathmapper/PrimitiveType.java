@@ -0,0 +1,81 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.math.BigInteger;
+
+/**
+ * Numeric type of primitive field mapper.
+ * Primitive values are passed between parser, validator, mapper and setter as long "bits" without boxing:
+ * int and long values as long value, double values as raw long bits of double.
+ * Int and long fields accept only integral numbers in range of the type, numbers are never narrowed silently.
+ */
+enum PrimitiveType {
+    INT,
+    LONG,
+    DOUBLE;
+
+    /**
+     * @throws ClassCastException when number isn't integral or is out of range of int/long field
+     */
+    long fromNumber(Number value) {
+        if (this == DOUBLE) {
+            return Double.doubleToRawLongBits(value.doubleValue());
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return fromLong(value.longValue());
+        }
+        if (value instanceof BigInteger) {
+            if (((BigInteger) value).bitLength() >= Long.SIZE) {
+                throw outOfRange(value);
+            }
+            return fromLong(value.longValue());
+        }
+        return fromDouble(value.doubleValue());
+    }
+
+    long fromLong(long value) {
+        switch (this) {
+            case INT:
+                if (value != (int) value) {
+                    throw outOfRange(value);
+                }
+                return value;
+            case LONG:
+                return value;
+            default:
+                return Double.doubleToRawLongBits(value);
+        }
+    }
+
+    long fromDouble(double value) {
+        switch (this) {
+            case INT:
+                if (value != (int) value) {
+                    throw outOfRange(value);
+                }
+                return (int) value;
+            case LONG:
+                // (long) of 2^63 and above saturates to Long.MAX_VALUE, which compares equal as double
+                if (value != (long) value || value >= 0x1p63) {
+                    throw outOfRange(value);
+                }
+                return (long) value;
+            default:
+                return Double.doubleToRawLongBits(value);
+        }
+    }
+
+    private ClassCastException outOfRange(Object value) {
+        return new ClassCastException("Json number " + value + " doesn't fit " + this + " field");
+    }
+
+    Number box(long bits) {
+        switch (this) {
+            case INT:
+                return (int) bits;
+            case LONG:
+                return bits;
+            default:
+                return Double.longBitsToDouble(bits);
+        }
+    }
+}
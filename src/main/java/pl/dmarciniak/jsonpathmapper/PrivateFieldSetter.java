@@ -0,0 +1,84 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import com.jayway.jsonpath.JsonPathException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldCastException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Sets value of private field in target class.
+ * Field is resolved once per target class (and cached) into MethodHandle setter,
+ * with fallback to accessible Field when setter can't be created (e.g. for final field on some JVMs).
+ * Access flag is never changed during mapping, so setter is safe for parallel mapping.
+ * @param <W> type of target class
+ * @param <V> type of value
+ */
+final class PrivateFieldSetter<W, V> implements BiFunction<W, V, W> {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String fieldName;
+    private final ClassValue<BiConsumer<Object, Object>> setters = new ClassValue<BiConsumer<Object, Object>>() {
+        @Override
+        protected BiConsumer<Object, Object> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    PrivateFieldSetter(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    /**
+     * Setter with field resolved immediately for given target class
+     * @param fieldName name of private field
+     * @param targetType target class
+     */
+    PrivateFieldSetter(String fieldName, Class<W> targetType) {
+        this(fieldName);
+        setters.get(targetType);
+    }
+
+    @Override
+    public W apply(W targetObj, V value) {
+        setters.get(targetObj.getClass()).accept(targetObj, value);
+        return targetObj;
+    }
+
+    private BiConsumer<Object, Object> resolve(Class<?> type) {
+        Field field;
+        try {
+            field = type.getDeclaredField(fieldName);
+            field.setAccessible(true);
+        } catch (NoSuchFieldException | SecurityException e) {
+            throw new JsonPathException("Cannot set value to field: " + fieldName, e);
+        }
+        try {
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+            return (targetObj, value) -> {
+                try {
+                    setter.invokeExact(targetObj, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new JsonPathException("Cannot set value to field: " + fieldName, e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            return (targetObj, value) -> {
+                try {
+                    field.set(targetObj, value);
+                } catch (IllegalArgumentException ex) {
+                    throw new JsonFieldCastException("Wrong type of json field", ex);
+                } catch (IllegalAccessException ex) {
+                    throw new JsonPathException("Cannot set value to field: " + fieldName, ex);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Description of how mapper reads json document (see JsonPathMapper.readPlan).
+ * Identical paths are read once per document and their value is passed to all fields with the path,
+ * definite paths are read in single walk over document, so their shared parents are visited once.
+ */
+public final class ReadPlan {
+
+    private final int fields;
+    private final List<String> definitePaths;
+    private final List<String> jsonPathReads;
+    private final int sharedReads;
+    private final int sharedSegments;
+
+    ReadPlan(int fields, List<String> definitePaths, List<String> jsonPathReads, int sharedReads, int sharedSegments) {
+        this.fields = fields;
+        this.definitePaths = Collections.unmodifiableList(definitePaths);
+        this.jsonPathReads = Collections.unmodifiableList(jsonPathReads);
+        this.sharedReads = sharedReads;
+        this.sharedSegments = sharedSegments;
+    }
+
+    /**
+     * @return number of field mappers
+     */
+    public int getFields() {
+        return fields;
+    }
+
+    /**
+     * @return unique definite paths read together in single walk over document
+     */
+    public List<String> getDefinitePaths() {
+        return definitePaths;
+    }
+
+    /**
+     * @return unique paths read by json-path (wildcards, filters, deep scans, functions), each once per document
+     */
+    public List<String> getJsonPathReads() {
+        return jsonPathReads;
+    }
+
+    /**
+     * @return number of reads saved per document: fields which get value read for other field with identical path
+     */
+    public int getSharedReads() {
+        return sharedReads;
+    }
+
+    /**
+     * @return number of segments of definite paths (and definite beginnings of other paths)
+     * walked together with other paths instead of separately
+     */
+    public int getSharedSegments() {
+        return sharedSegments;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadPlan[fields=" + fields + ", definitePaths=" + definitePaths + ", jsonPathReads=" + jsonPathReads
+                + ", sharedReads=" + sharedReads + ", sharedSegments=" + sharedSegments + "]";
+    }
+}
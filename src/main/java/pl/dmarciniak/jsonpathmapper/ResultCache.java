@@ -0,0 +1,192 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of mapped targets keyed by content of json document (see JsonPathMapperBuilder.cacheResults).
+ * Cache is split into segments selected by hash of document, each segment is LRU map with its own lock,
+ * so threads mapping different documents rarely wait for each other.
+ * Number of documents and their total weight (length of document) are bounded in every segment.
+ */
+final class ResultCache {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    ResultCache(int maxDocuments, long maxWeight) {
+        int segmentsAmount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxDocuments));
+        this.segments = new Segment[segmentsAmount];
+        for (int i = 0; i < segmentsAmount; ++i) {
+            segments[i] = new Segment((maxDocuments + segmentsAmount - 1) / segmentsAmount, Math.max(1, maxWeight / segmentsAmount));
+        }
+    }
+
+    /**
+     * @param key content of json document
+     * @return cached target or null when document isn't cached
+     */
+    Object get(Key key) {
+        Object target = segment(key).get(key);
+        if (target == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return target;
+    }
+
+    /**
+     * Cache target of document, least recently used documents are evicted when bounds are exceeded
+     * (document heavier than bound of segment isn't cached)
+     * @param key content of json document
+     * @param target mapped target
+     */
+    void put(Key key, Object target) {
+        if (target != null) {
+            evictions.add(segment(key).put(key.stored(), target));
+        }
+    }
+
+    CacheStats stats() {
+        long size = 0;
+        long weight = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+            weight += segment.weight();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, weight);
+    }
+
+    private Segment segment(Key key) {
+        return segments[(int) (key.hash >>> 59) & (segments.length - 1)];
+    }
+
+    private static final class Segment {
+
+        private final LinkedHashMap<Key, Object> targets = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxDocuments;
+        private final long maxWeight;
+        private long weight;
+
+        private Segment(int maxDocuments, long maxWeight) {
+            this.maxDocuments = maxDocuments;
+            this.maxWeight = maxWeight;
+        }
+
+        private synchronized Object get(Key key) {
+            return targets.get(key);
+        }
+
+        /**
+         * @return number of evicted documents
+         */
+        private synchronized int put(Key key, Object target) {
+            if (key.length > maxWeight) {
+                return 0;
+            }
+            if (targets.put(key, target) == null) {
+                weight += key.length;
+            }
+            int evicted = 0;
+            Iterator<Key> eldest = targets.keySet().iterator();
+            while (targets.size() > maxDocuments || weight > maxWeight) {
+                weight -= eldest.next().length;
+                eldest.remove();
+                ++evicted;
+            }
+            return evicted;
+        }
+
+        private synchronized int size() {
+            return targets.size();
+        }
+
+        private synchronized long weight() {
+            return weight;
+        }
+    }
+
+    /**
+     * Content of json document (String or range of UTF-8 bytes) with its 64-bit hash (FNV-1a with final mixing).
+     * Key used for lookup refers to bytes of caller, stored key has its own copy.
+     */
+    static final class Key {
+
+        private final String string;
+        private final byte[] bytes;
+        private final int offset;
+        private final int length;
+        private final long hash;
+
+        private Key(String string, byte[] bytes, int offset, int length, long hash) {
+            this.string = string;
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        static Key of(String json) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < json.length(); ++i) {
+                hash = (hash ^ json.charAt(i)) * 0x100000001b3L;
+            }
+            return new Key(json, null, 0, json.length(), mix(hash));
+        }
+
+        static Key of(byte[] json, int offset, int length) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = offset; i < offset + length; ++i) {
+                hash = (hash ^ (json[i] & 0xFF)) * 0x100000001b3L;
+            }
+            return new Key(null, json, offset, length, mix(hash));
+        }
+
+        private Key stored() {
+            if (bytes == null) {
+                return this;
+            }
+            // whole array of caller is copied too, caller may reuse it for next document
+            byte[] copy = new byte[length];
+            System.arraycopy(bytes, offset, copy, 0, length);
+            return new Key(null, copy, 0, length, hash);
+        }
+
+        private static long mix(long hash) {
+            hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+            hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            if (hash != other.hash || length != other.length) {
+                return false;
+            }
+            if (string != null || other.string != null) {
+                return string != null && string.equals(other.string);
+            }
+            for (int i = 0; i < length; ++i) {
+                if (bytes[offset + i] != other.bytes[other.offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) hash;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import pl.dmarciniak.jsonpathmapper.exception.JsonPathMapperException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of JsonPathMapper.mapValidated: mapped instance of target class or list of all field errors
+ * @param <T> type of target class
+ */
+public final class ValidationResult<T> {
+
+    private final T value;
+    private final List<FieldError> errors;
+
+    private ValidationResult(T value, List<FieldError> errors) {
+        this.value = value;
+        this.errors = errors;
+    }
+
+    static <T> ValidationResult<T> valid(T value) {
+        return new ValidationResult<>(value, Collections.emptyList());
+    }
+
+    static <T> ValidationResult<T> invalid(List<FieldError> errors) {
+        return new ValidationResult<>(null, Collections.unmodifiableList(errors));
+    }
+
+    /**
+     * @return true when json was mapped without errors
+     */
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Mapped instance of target class
+     * @return instance of target class with mapped data
+     * @throws JsonPathMapperException when json has field errors
+     */
+    public T getValue() {
+        if (!isValid()) {
+            throw new JsonPathMapperException("Json has field errors: " + errors);
+        }
+        return value;
+    }
+
+    /**
+     * Errors of all wrong fields
+     * @return list of field errors, empty when json was mapped
+     */
+    public List<FieldError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationResult[" + value + "]" : "ValidationResult" + errors;
+    }
+}
@@ -0,0 +1,48 @@
+package pl.dmarciniak.jsonpathmapper;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor starting new virtual thread for every task (see JsonPathMapperBuilder.virtualThreads).
+ * Virtual threads are created by reflection (library is compiled for Java 8),
+ * on JVM without virtual threads (or with disabled preview of them) executor isn't available.
+ */
+final class VirtualThreads {
+
+    private static final Executor EXECUTOR = createExecutor();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return executor starting virtual thread for every task or null when JVM doesn't support virtual threads
+     */
+    static Executor executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * True when thread is virtual
+     */
+    static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static Executor createExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            ThreadFactory threadFactory = (ThreadFactory) factory.invoke(builder);
+            return task -> threadFactory.newThread(task).start();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java before 21 (or preview disabled): virtual threads aren't available
+            return null;
+        }
+    }
+}
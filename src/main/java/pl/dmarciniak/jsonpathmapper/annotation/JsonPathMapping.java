@@ -0,0 +1,22 @@
+package pl.dmarciniak.jsonpathmapper.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks class or interface for which json mapper is generated at compile time.
+ * Generated class {ClassName}JsonPathMapper (in the same package) has static method create()
+ * which returns JsonPathMapper of this class.
+ * Mapped fields (set by setter or directly when field isn't private) or all parameters
+ * of single constructor are marked with {@link Path}.
+ * For interface all abstract methods (without parameters) are marked with {@link Path},
+ * mapper returns generated immutable implementation of interface.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonPathMapping {
+}
@@ -0,0 +1,26 @@
+package pl.dmarciniak.jsonpathmapper.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Json path of field or constructor parameter of class, or abstract method of interface, marked with {@link JsonPathMapping}
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
+public @interface Path {
+
+    /**
+     * @return json path, see: https://bit.ly/2JVzFRJ
+     */
+    String value();
+
+    /**
+     * @return true when field is optional (not existing field isn't set), like FieldMapper.optional()
+     */
+    boolean optional() default false;
+}
@@ -0,0 +1,10 @@
+package pl.dmarciniak.jsonpathmapper.exception;
+
+/**
+ * Malformed json path
+ */
+public class JsonFieldPathException extends JsonPathMapperException {
+    public JsonFieldPathException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,449 @@
+package pl.dmarciniak.jsonpathmapper.processor;
+
+import pl.dmarciniak.jsonpathmapper.annotation.JsonPathMapping;
+import pl.dmarciniak.jsonpathmapper.annotation.Path;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Annotation processor generating json mappers of classes marked with {@link JsonPathMapping}.
+ * Generated mapper has straight-line code per field (GeneratedMapping): each value is read from its own index
+ * and passed to direct setter call, direct field assignment or single constructor call, so neither reflection
+ * nor generic functions of field mappers are used by map. Mapper is created with JsonPathMapperBuilder with
+ * the same field mappers as mapper built by hand, they are used by parallelMap, mapValidated and mapAsync.
+ * For interface, generated mapper creates its immutable implementation with values of abstract methods.
+ */
+@SupportedAnnotationTypes("pl.dmarciniak.jsonpathmapper.annotation.JsonPathMapping")
+public final class JsonPathMappingProcessor extends AbstractProcessor {
+
+    private static final String MAPPER_SUFFIX = "JsonPathMapper";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(JsonPathMapping.class)) {
+            if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.INTERFACE) {
+                error(element, "@JsonPathMapping can be used only on class or interface");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            Mapping mapping = isValidTarget(type) ? mapTarget(type) : null;
+            if (mapping != null) {
+                write(type, mapping);
+            }
+        }
+        return true;
+    }
+
+    private boolean isValidTarget(TypeElement type) {
+        boolean isInterface = type.getKind() == ElementKind.INTERFACE;
+        if (!isInterface && type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@JsonPathMapping class cannot be abstract");
+            return false;
+        } else if (!type.getTypeParameters().isEmpty()) {
+            error(type, "@JsonPathMapping class cannot be generic");
+            return false;
+        } else if (type.getNestingKind() != NestingKind.TOP_LEVEL
+                && (type.getNestingKind() != NestingKind.MEMBER || !isInterface && !type.getModifiers().contains(Modifier.STATIC))) {
+            error(type, "@JsonPathMapping class has to be top level or static nested class");
+            return false;
+        } else if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            error(type, "@JsonPathMapping class cannot be private");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Collect field mappers of target class
+     * @return mapping or null when class cannot be mapped
+     */
+    private Mapping mapTarget(TypeElement type) {
+        if (type.getKind() == ElementKind.INTERFACE) {
+            return mapInterface(type);
+        }
+        ExecutableElement constructor = null;
+        ExecutableElement defaultConstructor = null;
+        for (ExecutableElement candidate : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (candidate.getParameters().stream().anyMatch(param -> param.getAnnotation(Path.class) != null)) {
+                if (constructor != null) {
+                    error(candidate, "Only one constructor can have @Path parameters");
+                    return null;
+                }
+                constructor = candidate;
+            } else if (candidate.getParameters().isEmpty() && !candidate.getModifiers().contains(Modifier.PRIVATE)) {
+                defaultConstructor = candidate;
+            }
+        }
+        String typeName = type.getQualifiedName().toString();
+        if (constructor != null) {
+            return mapConstructor(typeName, constructor);
+        }
+        if (defaultConstructor == null) {
+            error(type, "@JsonPathMapping class needs not private no-argument constructor or constructor with @Path parameters");
+            return null;
+        }
+        Mapping mapping = new Mapping(typeName, typeName + "::new", "build(new Mapping())");
+        StringBuilder body = new StringBuilder();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Path path = field.getAnnotation(Path.class);
+            if (path == null) {
+                continue;
+            }
+            String assignment = fieldAssignment(type, field);
+            String fieldMapper = assignment == null ? null : fieldMapper(field, field.asType(), path, typeName, assignment);
+            if (fieldMapper == null) {
+                return null;
+            }
+            String statement = String.format(assignment, value(field.asType(), mapping.fieldMappers.size())) + ";\n";
+            if (path.optional()) {
+                body.append("            if (values.exists(").append(mapping.fieldMappers.size()).append(")) {\n")
+                        .append("    ");
+            }
+            body.append("            ").append(statement);
+            if (path.optional()) {
+                body.append("            }\n");
+            }
+            mapping.fieldMappers.add(fieldMapper);
+        }
+        mapping.mapBody = body.append("            return target;\n").toString();
+        return mapping;
+    }
+
+    /**
+     * Generated code calls constructor with values of fields.
+     */
+    private Mapping mapConstructor(String typeName, ExecutableElement constructor) {
+        if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+            error(constructor, "Constructor with @Path parameters cannot be private");
+            return null;
+        }
+        List<TypeMirror> types = new ArrayList<>();
+        for (VariableElement param : constructor.getParameters()) {
+            if (param.getAnnotation(Path.class) == null) {
+                error(param, "All parameters of constructor have to be marked with @Path");
+                return null;
+            }
+            types.add(param.asType());
+        }
+        return mapCreation("new " + typeName, constructor.getParameters(), types);
+    }
+
+    /**
+     * Generated code creates implementation of interface which returns values of fields from its abstract methods.
+     */
+    private Mapping mapInterface(TypeElement type) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        List<TypeMirror> types = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            if (method.getAnnotation(Path.class) == null || !method.getParameters().isEmpty()
+                    || !method.getTypeParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+                error(method, "All abstract methods of @JsonPathMapping interface have to be marked with @Path, "
+                        + "return value and have no parameters");
+                return null;
+            }
+            methods.add(method);
+            types.add(method.getReturnType());
+        }
+        Mapping mapping = mapCreation("new Implementation", methods, types);
+        if (mapping != null) {
+            mapping.implementation = implementation(type, methods, types);
+        }
+        return mapping;
+    }
+
+    /**
+     * Generated code creates target with values of all fields (constructor or implementation of interface).
+     * Field mappers collect values in array, then target is created by result mapper.
+     * @param creation expression creating target without arguments, e.g. "new Customer"
+     * @param elements elements marked with @Path in order of arguments
+     * @param types types of arguments
+     */
+    private Mapping mapCreation(String creation, List<? extends Element> elements, List<TypeMirror> types) {
+        List<String> fieldMappers = new ArrayList<>();
+        StringBuilder arguments = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < elements.size(); ++i) {
+            Path path = elements.get(i).getAnnotation(Path.class);
+            String fieldMapper = fieldMapper(elements.get(i), types.get(i), path, "java.lang.Object[]", "target[" + i + "] = %s");
+            if (fieldMapper == null) {
+                return null;
+            }
+            fieldMappers.add(fieldMapper);
+            arguments.append(i == 0 ? "" : ",\n").append("                        ").append(argument(types.get(i), i));
+            values.append(i == 0 ? "" : ",\n").append("                    ").append(optionalValue(types.get(i), i, path.optional()));
+        }
+        Mapping mapping = new Mapping("java.lang.Object[]", "() -> new java.lang.Object[" + elements.size() + "]",
+                "buildWithResultMapper(values -> " + creation + "(\n" + arguments + "), new Mapping())");
+        mapping.fieldMappers.addAll(fieldMappers);
+        mapping.mapBody = "            return " + creation + "(\n" + values + ");\n";
+        return mapping;
+    }
+
+    /**
+     * @return source of immutable implementation of interface, with equals, hashCode and toString of all values
+     */
+    private static String implementation(TypeElement type, List<ExecutableElement> methods, List<TypeMirror> types) {
+        StringBuilder fields = new StringBuilder();
+        StringBuilder parameters = new StringBuilder();
+        StringBuilder assignments = new StringBuilder();
+        StringBuilder getters = new StringBuilder();
+        StringBuilder equals = new StringBuilder();
+        StringBuilder hash = new StringBuilder();
+        StringBuilder string = new StringBuilder();
+        for (int i = 0; i < methods.size(); ++i) {
+            String name = methods.get(i).getSimpleName().toString();
+            fields.append("        private final ").append(types.get(i)).append(" value").append(i).append(";\n");
+            parameters.append(i == 0 ? "" : ", ").append(types.get(i)).append(" value").append(i);
+            assignments.append("            this.value").append(i).append(" = value").append(i).append(";\n");
+            getters.append("        @Override\n")
+                    .append("        public ").append(types.get(i)).append(" ").append(name).append("() {\n")
+                    .append("            return value").append(i).append(";\n")
+                    .append("        }\n\n");
+            equals.append("\n                    && java.util.Objects.equals(value").append(i).append(", other.value").append(i).append(")");
+            hash.append(i == 0 ? "" : ", ").append("value").append(i);
+            string.append(i == 0 ? " + \"[" : " + \", ").append(name).append("=\" + value").append(i);
+        }
+        return "    /**\n"
+                + "     * Implementation of " + type.getSimpleName() + " with values of fields\n"
+                + "     */\n"
+                + "    private static final class Implementation implements " + type.getQualifiedName() + " {\n\n"
+                + fields + "\n"
+                + "        Implementation(" + parameters + ") {\n"
+                + assignments
+                + "        }\n\n"
+                + getters
+                + "        @Override\n"
+                + "        public boolean equals(java.lang.Object obj) {\n"
+                + "            if (!(obj instanceof Implementation)) {\n"
+                + "                return false;\n"
+                + "            }\n"
+                + "            Implementation other = (Implementation) obj;\n"
+                + "            return true" + equals + ";\n"
+                + "        }\n\n"
+                + "        @Override\n"
+                + "        public int hashCode() {\n"
+                + "            return java.util.Objects.hash(" + hash + ");\n"
+                + "        }\n\n"
+                + "        @Override\n"
+                + "        public java.lang.String toString() {\n"
+                + "            return \"" + type.getSimpleName() + "\"" + string + (methods.isEmpty() ? " + \"[]\"" : " + \"]\"") + ";\n"
+                + "        }\n"
+                + "    }\n";
+    }
+
+    /**
+     * @return format of statement setting value (%s) in target (setter call or field assignment)
+     * or null when field cannot be set
+     */
+    private String fieldAssignment(TypeElement type, VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC)) {
+            error(field, "@Path field cannot be static");
+            return null;
+        }
+        String name = field.getSimpleName().toString();
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 1
+                    && !method.getModifiers().contains(Modifier.PRIVATE) && !method.getModifiers().contains(Modifier.STATIC)
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return "target." + setterName + "(%s)";
+            }
+        }
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+            error(field, "@Path field has to have setter " + setterName + " or cannot be private and final");
+            return null;
+        }
+        return "target." + name + " = %s";
+    }
+
+    /**
+     * @param assignment format of statement setting value (%s) in target
+     * @return FieldMapper expression or null when type of value isn't supported
+     */
+    private String fieldMapper(Element element, TypeMirror type, Path path, String targetType, String assignment) {
+        // json null of boolean field fails like in generated code instead of NullPointerException of unboxing
+        String statement = String.format(assignment, type.getKind() == TypeKind.BOOLEAN ? "FieldValues.toBoolean(value)" : "value");
+        String jsonPath = processingEnv.getElementUtils().getConstantExpression(path.value());
+        String optional = path.optional() ? ".optional()" : "";
+        switch (type.getKind()) {
+            case INT:
+                return "FieldMapper.<" + targetType + ">fromIntPath(" + jsonPath + ")" + optional
+                        + ".toIntField((" + targetType + " target, int value) -> " + statement + ")";
+            case LONG:
+                return "FieldMapper.<" + targetType + ">fromLongPath(" + jsonPath + ")" + optional
+                        + ".toLongField((" + targetType + " target, long value) -> " + statement + ")";
+            case DOUBLE:
+                return "FieldMapper.<" + targetType + ">fromDoublePath(" + jsonPath + ")" + optional
+                        + ".toDoubleField((" + targetType + " target, double value) -> " + statement + ")";
+            case BOOLEAN:
+                return "FieldMapper.<" + targetType + ">fromBooleanPath(" + jsonPath + ")" + optional
+                        + ".toGetterField((" + targetType + " target, java.lang.Boolean value) -> " + statement + ")";
+            case DECLARED:
+            case ARRAY:
+                return "FieldMapper.<" + targetType + ", " + type + ">fromPath(" + jsonPath + ")" + optional
+                        + ".toGetterField((" + targetType + " target, " + type + " value) -> " + statement + ")";
+            default:
+                error(element, "Type " + type + " isn't supported by @Path (use int, long, double, boolean or class type)");
+                return null;
+        }
+    }
+
+    /**
+     * Value of field read by generated code: int, long and double values are read without boxing
+     */
+    private static String value(TypeMirror type, int index) {
+        if (type.getKind() == TypeKind.INT) {
+            return "values.getInt(" + index + ")";
+        } else if (type.getKind() == TypeKind.LONG) {
+            return "values.getLong(" + index + ")";
+        } else if (type.getKind() == TypeKind.DOUBLE) {
+            return "values.getDouble(" + index + ")";
+        } else if (type.getKind() == TypeKind.BOOLEAN) {
+            return "values.getBoolean(" + index + ")";
+        }
+        return "(" + type + ") values.get(" + index + ")";
+    }
+
+    /**
+     * Value of constructor parameter read by generated code, not existing optional fields are 0, false or null
+     */
+    private static String optionalValue(TypeMirror type, int index, boolean optional) {
+        String value = value(type, index);
+        if (!optional) {
+            return value;
+        }
+        String exists = "values.exists(" + index + ")";
+        if (type.getKind() == TypeKind.BOOLEAN) {
+            return exists + " && " + value;
+        } else if (type.getKind() == TypeKind.INT) {
+            return exists + " ? " + value + " : 0";
+        } else if (type.getKind() == TypeKind.LONG) {
+            return exists + " ? " + value + " : 0L";
+        } else if (type.getKind() == TypeKind.DOUBLE) {
+            return exists + " ? " + value + " : 0.0";
+        }
+        return exists + " ? " + value + " : null";
+    }
+
+    /**
+     * Argument of constructor read from array of values, primitives of not existing optional fields are 0 or false
+     */
+    private static String argument(TypeMirror type, int index) {
+        String value = "values[" + index + "]";
+        if (type.getKind() == TypeKind.INT) {
+            return value + " == null ? 0 : (java.lang.Integer) " + value;
+        } else if (type.getKind() == TypeKind.LONG) {
+            return value + " == null ? 0L : (java.lang.Long) " + value;
+        } else if (type.getKind() == TypeKind.DOUBLE) {
+            return value + " == null ? 0.0 : (java.lang.Double) " + value;
+        } else if (type.getKind() == TypeKind.BOOLEAN) {
+            return value + " != null && (java.lang.Boolean) " + value;
+        }
+        return "(" + type + ") " + value;
+    }
+
+    private void write(TypeElement type, Mapping mapping) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String mapperName = (packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1)).replace('.', '_')
+                + MAPPER_SUFFIX;
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import pl.dmarciniak.jsonpathmapper.FieldMapper;\n")
+                .append("import pl.dmarciniak.jsonpathmapper.FieldValues;\n")
+                .append("import pl.dmarciniak.jsonpathmapper.GeneratedMapping;\n")
+                .append("import pl.dmarciniak.jsonpathmapper.JsonPathMapper;\n\n")
+                .append("/**\n")
+                .append(" * Json mapper of {@link ").append(typeName).append("} generated by ")
+                .append(JsonPathMappingProcessor.class.getName()).append("\n")
+                .append(" */\n")
+                .append("public final class ").append(mapperName).append(" {\n\n")
+                .append("    private ").append(mapperName).append("() {\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * Create json mapper of ").append(type.getSimpleName()).append("\n")
+                .append("     * @return json mapper\n")
+                .append("     */\n")
+                .append("    @SuppressWarnings(\"unchecked\")\n")
+                .append("    public static JsonPathMapper<").append(typeName).append("> create() {\n")
+                .append("        return JsonPathMapper.forClass(").append(mapping.builderType).append(".class)\n")
+                .append("                .initialize(").append(mapping.initializer).append(")\n");
+        for (String fieldMapper : mapping.fieldMappers) {
+            source.append("                .mapField(").append(fieldMapper).append(")\n");
+        }
+        source.append("                .").append(mapping.build).append(";\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * Straight-line code of all fields used by map, mapStreaming, mapLazy, mapAll, mapLines and mapInto\n")
+                .append("     */\n")
+                .append("    private static final class Mapping extends GeneratedMapping<").append(typeName).append("> {\n\n")
+                .append("        @Override\n")
+                .append("        @SuppressWarnings(\"unchecked\")\n")
+                .append("        protected ").append(typeName).append(" map(").append(typeName).append(" target, FieldValues values) {\n")
+                .append(mapping.mapBody)
+                .append("        }\n")
+                .append("    }\n");
+        if (mapping.implementation != null) {
+            source.append("\n").append(mapping.implementation);
+        }
+        source.append("}\n");
+        try (Writer writer = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? mapperName : packageName + "." + mapperName, type)
+                .openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(type, "Cannot write mapper " + mapperName + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Parts of builder chain, body of map method and implementation of interface (null for class) of generated mapper
+     */
+    private static final class Mapping {
+        private final String builderType;
+        private final String initializer;
+        private final String build;
+        private final List<String> fieldMappers = new ArrayList<>();
+        private String mapBody;
+        private String implementation;
+
+        Mapping(String builderType, String initializer, String build) {
+            this.builderType = builderType;
+            this.initializer = initializer;
+            this.build = build;
+        }
+    }
+}
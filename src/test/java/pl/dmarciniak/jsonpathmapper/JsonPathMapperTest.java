@@ -1,19 +1,60 @@
 package pl.dmarciniak.jsonpathmapper;
 
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import pl.dmarciniak.jsonpathmapper.exception.JsonFieldCastException;
 import pl.dmarciniak.jsonpathmapper.exception.JsonFieldValidatorException;
 import pl.dmarciniak.jsonpathmapper.exception.JsonParseException;
 import pl.dmarciniak.jsonpathmapper.exception.JsonFieldNotFoundException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonFieldPathException;
+import pl.dmarciniak.jsonpathmapper.exception.JsonPathMapperException;
 import pl.dmarciniak.jsonpathmapper.test.data.Customer;
 import pl.dmarciniak.jsonpathmapper.test.data.Customer2;
 import pl.dmarciniak.jsonpathmapper.test.data.Customer3;
 import pl.dmarciniak.jsonpathmapper.test.data.Customer4;
+import pl.dmarciniak.jsonpathmapper.test.data.Customer5;
+import pl.dmarciniak.jsonpathmapper.test.data.Customer5JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.test.data.Customer6;
+import pl.dmarciniak.jsonpathmapper.test.data.Customer6JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.test.data.Customer7;
+import pl.dmarciniak.jsonpathmapper.test.data.Customer8;
+import pl.dmarciniak.jsonpathmapper.test.data.Customer8JsonPathMapper;
+import pl.dmarciniak.jsonpathmapper.test.data.Phone;
 import pl.dmarciniak.jsonpathmapper.test.helper.ResourceLoader;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 public class JsonPathMapperTest {
     private final static String JSON = ResourceLoader.load("json/customer.json");
@@ -133,6 +174,35 @@ public class JsonPathMapperTest {
         Assertions.assertEquals(expected, mapper.map(JSON));
     }
 
+    @Test
+    void customer4ParallelTest() {
+        Customer4 expected = new Customer4(EXPECTED_NAME, EXPECTED_SURNAME, EXPECTED_AGE, EXPECTED_CREATED_DATE, Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2));
+
+        JsonPathMapper<Customer4> mapper = JsonPathMapper.forClass(Customer4.class)
+                .mapField(CUSTOMER_NAME_PATH, "name")
+                .mapField(CUSTOMER_SURNAME_PATH, "surname")
+                .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toPrivateField("age", Customer4.class).withValidator(val -> val > 0))
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toPrivateField("created", Customer4.class).withMapper(LocalDate::parse))
+                .mapField(CUSTOMER_PHONES_PATH, "phones")
+                .build();
+
+        Assertions.assertEquals(expected, mapper.parallelMap(JSON));
+    }
+
+    @Test
+    void customer4TestWhenPrivateFieldNotExist() {
+        Assertions.assertThrows(JsonPathException.class, () -> FieldMapper.fromPath(CUSTOMER_NAME_PATH).toPrivateField("unknown", Customer4.class));
+    }
+
+    @Test
+    void customer4TestWhenWrongFieldType() {
+        JsonPathMapper<Customer4> mapper = JsonPathMapper.forClass(Customer4.class)
+                .mapField(CUSTOMER_NAME_PATH, "age")
+                .build();
+
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.map(JSON));
+    }
+
     @Test
     void customerTestWhenValidationFail() {
         JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
@@ -160,7 +230,16 @@ public class JsonPathMapperTest {
                 .mapField("$.wrong.path", Customer::setName)
                 .build();
 
-        Assertions.assertThrows(JsonFieldNotFoundException.class, () -> mapper.map(JSON));
+        JsonFieldNotFoundException e = Assertions.assertThrows(JsonFieldNotFoundException.class, () -> mapper.map(JSON));
+        Assertions.assertEquals("Wrong field path: $.wrong.path", e.getMessage());
+    }
+
+    @Test
+    void customerTestWhenPathMalformed() {
+        JsonPathMapperBuilder<Customer> builder = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new);
+
+        Assertions.assertThrows(JsonFieldPathException.class, () -> builder.mapField("$.customer.", Customer::setName));
     }
 
     @Test
@@ -185,4 +264,1076 @@ public class JsonPathMapperTest {
         Assertions.assertEquals(EXPECTED_NAME, cust.getName());
         Assertions.assertNull(cust.getSurname());
     }
+
+    @Test
+    void customerTestWithBracketAndIndexPaths() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$['customer']['name']", Customer::setName)
+                .mapField("$.customer.phones[1].number", Customer::setSurname)
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .mapOptionalField("$.customer.phones[5].number", Customer::setCreated)
+                .build();
+
+        Customer cust = mapper.map(JSON);
+        Assertions.assertEquals(EXPECTED_NAME, cust.getName());
+        Assertions.assertEquals(EXPECTED_PHONE_2, cust.getSurname());
+        Assertions.assertEquals(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2), cust.getPhones());
+        Assertions.assertNull(cust.getCreated());
+    }
+
+    @Test
+    void customerStreamingTest() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toGetterField(Customer::setAge).withValidator(val -> val > 0))
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapOptionalField("$.customer.noexistfield", Customer::setSurname)
+                .build();
+
+        Customer cust = mapper.mapStreaming(JSON);
+        Assertions.assertEquals(EXPECTED_NAME, cust.getName());
+        Assertions.assertEquals(EXPECTED_AGE, cust.getAge());
+        Assertions.assertEquals(EXPECTED_CREATED_DATE, cust.getCreated());
+        Assertions.assertNull(cust.getSurname());
+    }
+
+    @Test
+    void customerStreamingTestWithIndefinitePath() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .build();
+
+        Customer cust = mapper.mapStreaming(JSON);
+        Assertions.assertEquals(EXPECTED_NAME, cust.getName());
+        Assertions.assertEquals(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2), cust.getPhones());
+    }
+
+    @Test
+    void customerStreamingTestWhenJsonParsingFail() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .build();
+
+        Assertions.assertThrows(JsonParseException.class, () -> mapper.mapStreaming("{NO_JSON"));
+    }
+
+    @Test
+    void customerTestWithDifferentInputTypes() {
+        Customer expected = new Customer();
+        expected.setName(EXPECTED_NAME);
+        expected.setSurname(EXPECTED_SURNAME);
+        expected.setPhones(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2));
+
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(CUSTOMER_SURNAME_PATH, Customer::setSurname)
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .build();
+
+        byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+        byte[] paddedBytes = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, paddedBytes, 2, bytes.length);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+
+        Assertions.assertEquals(expected, mapper.map(bytes));
+        Assertions.assertEquals(expected, mapper.map(paddedBytes, 2, bytes.length));
+        Assertions.assertEquals(expected, mapper.map(ByteBuffer.wrap(bytes)));
+        Assertions.assertEquals(expected, mapper.map(directBuffer));
+        Assertions.assertEquals(expected, mapper.parallelMap(directBuffer));
+        Assertions.assertEquals(expected, mapper.map(new ByteArrayInputStream(bytes)));
+        Assertions.assertEquals(expected, mapper.map(new StringReader(JSON)));
+        Assertions.assertEquals(expected, mapper.mapStreaming(new StringReader(JSON)));
+        Assertions.assertThrows(JsonParseException.class, () -> mapper.map("{NO_JSON".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(JsonParseException.class, () -> mapper.map(new StringReader("{NO_JSON")));
+        Assertions.assertThrows(JsonParseException.class, () -> mapper.map(new StringReader(JSON + " garbage")));
+        Assertions.assertThrows(JsonParseException.class, () -> mapper.map(new StringReader(JSON + "}")));
+        Assertions.assertEquals(expected, mapper.map(new StringReader(JSON + " \n")));
+    }
+
+    @Test
+    void customerTestWithPrimitiveField() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.<Customer>fromIntPath(CUSTOMER_AGE_PATH).toIntField(Customer::setAge).withIntValidator(val -> val > 0).withIntMapper(val -> val * 2))
+                .build();
+
+        Assertions.assertEquals(EXPECTED_AGE * 2, mapper.map(JSON).getAge());
+        Assertions.assertEquals(EXPECTED_AGE * 2, mapper.mapStreaming(JSON).getAge());
+    }
+
+    @Test
+    void customerTestWithPrimitiveFieldWhenValidationFail() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.<Customer>fromIntPath(CUSTOMER_AGE_PATH).toIntField(Customer::setAge).withIntValidator(val -> val < 0))
+                .build();
+
+        Assertions.assertThrows(JsonFieldValidatorException.class, () -> mapper.map(JSON));
+        Assertions.assertThrows(JsonFieldValidatorException.class, () -> mapper.mapStreaming(JSON));
+    }
+
+    @Test
+    void customerTestWithPrimitiveFieldWhenWrongFieldType() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.<Customer>fromIntPath(CUSTOMER_NAME_PATH).toIntField(Customer::setAge))
+                .build();
+
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.map(JSON));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.mapStreaming(JSON));
+    }
+
+    @Test
+    void customerTestWithPrimitiveFieldWhenNumberDoesNotFit() {
+        JsonPathMapper<Customer> intMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.<Customer>fromIntPath(CUSTOMER_AGE_PATH).toIntField(Customer::setAge))
+                .build();
+        JsonPathMapper<Customer> longMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.<Customer>fromLongPath(CUSTOMER_AGE_PATH).toLongField((customer, age) -> customer.setAge((int) age)))
+                .build();
+
+        for (String age : Arrays.asList("3.7", "10000000000", "1e300")) {
+            String json = "{\"customer\": {\"age\": " + age + "}}";
+            Assertions.assertThrows(JsonFieldCastException.class, () -> intMapper.map(json));
+            Assertions.assertThrows(JsonFieldCastException.class, () -> intMapper.mapStreaming(json));
+            Assertions.assertEquals(FieldError.Kind.WRONG_TYPE, intMapper.mapValidated(json).getErrors().get(0).getKind());
+        }
+        for (String age : Arrays.asList("3.7", "10000000000000000000", "1e300")) {
+            String json = "{\"customer\": {\"age\": " + age + "}}";
+            Assertions.assertThrows(JsonFieldCastException.class, () -> longMapper.map(json));
+            Assertions.assertThrows(JsonFieldCastException.class, () -> longMapper.mapStreaming(json));
+        }
+        Assertions.assertEquals(30, intMapper.map("{\"customer\": {\"age\": 30.0}}").getAge());
+        Assertions.assertEquals(30, intMapper.mapStreaming("{\"customer\": {\"age\": 3e1}}").getAge());
+    }
+
+    @Test
+    void customerParallelTestWithCustomExecutor() {
+        Customer expected = new Customer();
+        expected.setName(EXPECTED_NAME);
+        expected.setSurname(EXPECTED_SURNAME);
+        expected.setAge(EXPECTED_AGE);
+        expected.setCreated(EXPECTED_CREATED_DATE);
+        expected.setPhones(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                    .initialize(Customer::new)
+                    .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                    .mapField(CUSTOMER_SURNAME_PATH, Customer::setSurname)
+                    .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toGetterField(Customer::setAge).withValidator(val -> val > 0))
+                    .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                    .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                    .parallelExecutor(executor)
+                    .parallelChunkSize(1)
+                    .build();
+
+            Assertions.assertEquals(expected, mapper.parallelMap(JSON));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void customerParallelTestWithAdaptiveParallelismWhenValidationFail() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toGetterField(Customer::setAge).withValidator(val -> val < 0))
+                .parallelThreshold(2)
+                .adaptiveParallelism()
+                .build();
+
+        for (int i = 0; i < 32; ++i) {
+            Assertions.assertThrows(JsonFieldValidatorException.class, () -> mapper.parallelMap(JSON));
+        }
+    }
+
+    @Test
+    void builderTestWhenWrongParallelSettings() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JsonPathMapper.forClass(Customer.class).parallelThreshold(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JsonPathMapper.forClass(Customer.class).parallelChunkSize(0));
+    }
+
+    @Test
+    void customerAsyncTest() throws Exception {
+        Customer expected = new Customer();
+        expected.setName(EXPECTED_NAME);
+        expected.setSurname(EXPECTED_SURNAME);
+        expected.setAge(EXPECTED_AGE);
+        expected.setCreated(EXPECTED_CREATED_DATE);
+        expected.setPhones(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2));
+
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(FieldMapper.fromPath(CUSTOMER_SURNAME_PATH, String.class).toGetterField(Customer::setSurname)
+                        .withAsyncMapper(val -> CompletableFuture.supplyAsync(() -> val)))
+                .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toGetterField(Customer::setAge).withValidator(val -> val > 0))
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated)
+                        .withAsyncMapper(val -> CompletableFuture.supplyAsync(() -> LocalDate.parse(val))))
+                .mapField(FieldMapper.fromPath("$.customer.unknown", String.class).toGetterField(Customer::setName)
+                        .withAsyncMapper(CompletableFuture::completedFuture).optional())
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .build();
+
+        Assertions.assertEquals(expected, mapper.mapAsync(JSON).get());
+        Assertions.assertEquals(expected, mapper.map(JSON));
+    }
+
+    @Test
+    void customerAsyncTestWhenValidationFail() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toGetterField(Customer::setAge)
+                        .withValidator(val -> val < 0).withAsyncMapper(CompletableFuture::completedFuture))
+                .build();
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> mapper.mapAsync(JSON).get());
+        Assertions.assertTrue(e.getCause() instanceof JsonFieldValidatorException);
+    }
+
+    @Test
+    void customerAsyncTestWhenRequiredFieldNotExist() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath("$.customer.unknown", String.class).toGetterField(Customer::setName)
+                        .withAsyncMapper(CompletableFuture::completedFuture))
+                .build();
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> mapper.mapAsync(JSON).get());
+        Assertions.assertTrue(e.getCause() instanceof JsonFieldNotFoundException);
+    }
+
+    @Test
+    void customerBatchTest() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toGetterField(Customer::setAge).withValidator(val -> val > 0))
+                .batchChunkSize(3)
+                .build();
+
+        List<String> jsons = IntStream.range(0, 100)
+                .mapToObj(i -> i == 42 ? "{wrong json" : JSON.replace(EXPECTED_NAME, EXPECTED_NAME + i))
+                .collect(Collectors.toList());
+
+        List<MappingResult<Customer>> results = mapper.mapAll(jsons);
+
+        Assertions.assertEquals(100, results.size());
+        for (int i = 0; i < 100; ++i) {
+            Assertions.assertEquals(i, results.get(i).getIndex());
+            if (i == 42) {
+                Assertions.assertFalse(results.get(i).isSuccess());
+                Assertions.assertTrue(results.get(i).getFailure() instanceof JsonParseException);
+                Assertions.assertThrows(JsonParseException.class, results.get(i)::getValue);
+            } else {
+                Assertions.assertEquals(EXPECTED_NAME + i, results.get(i).getValue().getName());
+                Assertions.assertEquals(EXPECTED_AGE, results.get(i).getValue().getAge());
+            }
+        }
+    }
+
+    @Test
+    void customerUnorderedBatchTestWithCustomExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                    .initialize(Customer::new)
+                    .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                    .batchExecutor(executor)
+                    .batchChunkSize(1)
+                    .unorderedBatch()
+                    .build();
+
+            Iterator<MappingResult<Customer>> results = mapper.mapAll(Collections.nCopies(50, JSON).iterator());
+            int count = 0;
+            long indexSum = 0;
+            while (results.hasNext()) {
+                MappingResult<Customer> result = results.next();
+                Assertions.assertEquals(EXPECTED_NAME, result.getValue().getName());
+                indexSum += result.getIndex();
+                ++count;
+            }
+            Assertions.assertEquals(50, count);
+            Assertions.assertEquals(49 * 50 / 2, indexSum);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void customerBatchTestWithStream() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .build();
+
+        List<String> names = mapper.mapAll(Stream.of(JSON, "{}", JSON))
+                .map(result -> result.isSuccess() ? result.getValue().getName() : "failed")
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(Arrays.asList(EXPECTED_NAME, "failed", EXPECTED_NAME), names);
+    }
+
+    @Test
+    void customerLinesTest() throws IOException {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(CUSTOMER_AGE_PATH, Customer::setAge)
+                .build();
+
+        String line = JSON.replaceAll("\\s*\\n\\s*", "");
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 2000; ++i) {
+            ndjson.append(line.replace(EXPECTED_NAME, EXPECTED_NAME + i)).append(i % 2 == 0 ? "\n" : "\r\n\n");
+        }
+        Path file = Files.createTempFile("customers", ".ndjson");
+        try {
+            Files.write(file, ndjson.toString().getBytes(StandardCharsets.UTF_8));
+
+            try (Stream<Customer> customers = mapper.mapLines(file)) {
+                List<String> names = customers.map(Customer::getName).collect(Collectors.toList());
+                Assertions.assertEquals(2000, names.size());
+                Assertions.assertEquals(EXPECTED_NAME + 1999, names.get(1999));
+            }
+            try (Stream<Customer> customers = mapper.mapLines(file)) {
+                Assertions.assertEquals(2000 * 1999 / 2, customers.parallel().mapToInt(cust -> Integer.parseInt(cust.getName().substring(EXPECTED_NAME.length()))).sum());
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                LineSpliterator smallSegments = new LineSpliterator(channel, 0, channel.size(), 100);
+                Assertions.assertEquals(2000, StreamSupport.stream(smallSegments, false).map(mapper::map).count());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void customerLinesTestWithReusedTargets() throws IOException {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .reuseTargets(customer -> customer.setName(null))
+                .build();
+
+        String line = JSON.replaceAll("\\s*\\n\\s*", "");
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 100; ++i) {
+            ndjson.append(line.replace(EXPECTED_NAME, EXPECTED_NAME + i)).append("\n");
+        }
+        Path file = Files.createTempFile("customers", ".ndjson");
+        try {
+            Files.write(file, ndjson.toString().getBytes(StandardCharsets.UTF_8));
+            try (Stream<Customer> customers = mapper.mapLines(file)) {
+                List<Customer> collected = customers.collect(Collectors.toList());
+                Assertions.assertEquals(100, collected.stream().distinct().count());
+                Assertions.assertEquals(EXPECTED_NAME + 0, collected.get(0).getName());
+                Assertions.assertEquals(EXPECTED_NAME + 99, collected.get(99).getName());
+            }
+            try (Stream<Customer> customers = mapper.mapLines(file)) {
+                Assertions.assertEquals(100, customers.parallel().collect(Collectors.toList()).stream().map(Customer::getName).distinct().count());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void customerLinesTestWhenFileNotExist() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .build();
+
+        Assertions.assertThrows(JsonParseException.class, () -> mapper.mapLines(Paths.get("not-existing.ndjson")));
+    }
+
+    @Test
+    void customerArrayElementsTest() {
+        JsonPathMapper<Customer> elementMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.name", Customer::setName)
+                .mapField(FieldMapper.fromPath("$.age", Integer.class).toGetterField(Customer::setAge).withValidator(val -> val > 0))
+                .build();
+        String json = "{\"meta\": {\"items\": [1, 2]}, \"data\": [{}, {\"items\": ["
+                + "{\"name\": \"Jan\", \"age\": 18}, {\"name\": \"Adam\", \"age\": 30, \"other\": [1, {\"a\": 2}]}]}]}";
+
+        List<Customer> customers = new ArrayList<>();
+        elementMapper.forArray("$.data[1].items").forEach(json, customers::add);
+
+        Assertions.assertEquals(2, customers.size());
+        Assertions.assertEquals("Jan", customers.get(0).getName());
+        Assertions.assertEquals(30, customers.get(1).getAge());
+
+        Iterator<Customer> iterator = elementMapper.forArray("$['data'][1]['items']").iterator(new StringReader(json));
+        Assertions.assertEquals("Jan", iterator.next().getName());
+        Assertions.assertEquals("Adam", iterator.next().getName());
+        Assertions.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void customerArrayElementsTestWhenWrongArrayPath() {
+        JsonPathMapper<Customer> elementMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.name", Customer::setName)
+                .build();
+        JsonArrayMapper<Customer> notArrayMapper = elementMapper.forArray("$.customer.name");
+        JsonArrayMapper<Customer> unknownArrayMapper = elementMapper.forArray("$.customer.unknown");
+
+        Assertions.assertThrows(JsonFieldCastException.class, () -> notArrayMapper.forEach(JSON, customer -> {}));
+        Assertions.assertThrows(JsonFieldNotFoundException.class, () -> unknownArrayMapper.forEach(JSON, customer -> {}));
+        Assertions.assertThrows(JsonFieldPathException.class, () -> elementMapper.forArray("$.customer[*].phones"));
+    }
+
+    @Test
+    void customerTestWithMissingIndefiniteFields() {
+        Customer expected = new Customer();
+        expected.setName(EXPECTED_NAME);
+        expected.setPhones(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2));
+
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapOptionalField("$.customer.addresses[*].street", Customer::setPhones)
+                .mapOptionalField("$.customer.unknown.phones[*].number", Customer::setPhones)
+                .mapOptionalField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .mapOptionalField("$.unknown[*]", Customer::setSurname)
+                .build();
+
+        Assertions.assertEquals(expected, mapper.map(JSON));
+
+        JsonPathMapper<Customer> requiredMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.customer.unknown[*].number", Customer::setPhones)
+                .build();
+
+        Assertions.assertThrows(JsonFieldNotFoundException.class, () -> requiredMapper.map(JSON));
+    }
+
+    @Test
+    void customerValidatedTest() {
+        Customer expected = new Customer();
+        expected.setName(EXPECTED_NAME);
+        expected.setAge(EXPECTED_AGE);
+        expected.setCreated(EXPECTED_CREATED_DATE);
+
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(FieldMapper.<Customer>fromIntPath(CUSTOMER_AGE_PATH).toIntField(Customer::setAge).withIntValidator(val -> val > 0))
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapOptionalField("$.customer.unknown", Customer::setSurname)
+                .build();
+
+        ValidationResult<Customer> result = mapper.mapValidated(JSON);
+
+        Assertions.assertTrue(result.isValid());
+        Assertions.assertTrue(result.getErrors().isEmpty());
+        Assertions.assertEquals(expected, result.getValue());
+    }
+
+    @Test
+    void customerValidatedTestWhenFieldsAreWrong() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath(CUSTOMER_NAME_PATH, String.class).toGetterField(Customer::setName).withValidator(val -> val.length() > 5))
+                .mapField(FieldMapper.<Customer>fromIntPath(CUSTOMER_SURNAME_PATH).toIntField(Customer::setAge))
+                .mapField(FieldMapper.fromPath(CUSTOMER_NAME_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField("$.customer.unknown[*].number", Customer::setPhones)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setAge)
+                .mapField(CUSTOMER_AGE_PATH, Customer::setAge)
+                .build();
+
+        ValidationResult<Customer> result = mapper.mapValidated(JSON);
+
+        Assertions.assertFalse(result.isValid());
+        Assertions.assertEquals(5, result.getErrors().size());
+        Assertions.assertEquals(FieldError.Kind.VALIDATION_FAILED, result.getErrors().get(0).getKind());
+        Assertions.assertEquals(CUSTOMER_NAME_PATH, result.getErrors().get(0).getPath());
+        Assertions.assertEquals(EXPECTED_NAME, result.getErrors().get(0).getRawValue());
+        Assertions.assertEquals(FieldError.Kind.WRONG_TYPE, result.getErrors().get(1).getKind());
+        Assertions.assertEquals(FieldError.Kind.MAPPER_FAILED, result.getErrors().get(2).getKind());
+        Assertions.assertNotNull(result.getErrors().get(2).getCause());
+        Assertions.assertEquals(FieldError.Kind.NOT_FOUND, result.getErrors().get(3).getKind());
+        Assertions.assertEquals(FieldError.Kind.WRONG_TYPE, result.getErrors().get(4).getKind());
+        Assertions.assertEquals(EXPECTED_NAME, result.getErrors().get(4).getRawValue());
+        Assertions.assertThrows(JsonPathMapperException.class, result::getValue);
+    }
+
+    @Test
+    void customerValidatedTestWhenWrongJsonFormat() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .build();
+
+        ValidationResult<Customer> result = mapper.mapValidated("{wrong json");
+
+        Assertions.assertEquals(1, result.getErrors().size());
+        Assertions.assertEquals(FieldError.Kind.INVALID_JSON, result.getErrors().get(0).getKind());
+    }
+
+    @Test
+    void customerTestWithCompactJsonProvider() {
+        Customer expected = new Customer();
+        expected.setName(EXPECTED_NAME);
+        expected.setSurname(EXPECTED_SURNAME);
+        expected.setAge(EXPECTED_AGE);
+        expected.setCreated(EXPECTED_CREATED_DATE);
+        expected.setPhones(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2));
+
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(CUSTOMER_SURNAME_PATH, Customer::setSurname)
+                .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toGetterField(Customer::setAge).withValidator(val -> val > 0))
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .jsonProvider(new CompactJsonProvider())
+                .build();
+
+        Assertions.assertEquals(expected, mapper.map(JSON));
+        Assertions.assertEquals(expected, mapper.map(JSON.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(expected, mapper.mapStreaming(JSON));
+        Assertions.assertThrows(JsonParseException.class, () -> mapper.map("{\"customer\": {\"name\": 01}}"));
+    }
+
+    @Test
+    void compactJsonProviderTest() {
+        CompactJsonProvider provider = new CompactJsonProvider();
+        Object document = provider.parse("{\"text\": \"a\\\"b\\u0041\", \"numbers\": [1, -2.5, 12345678901, 1e2, true, null], \"empty\": {}}");
+
+        Assertions.assertEquals("a\"bA", provider.getMapValue(document, "text"));
+        Assertions.assertEquals(JsonProvider.UNDEFINED, provider.getMapValue(document, "unknown"));
+        Object numbers = provider.getMapValue(document, "numbers");
+        Assertions.assertEquals(Arrays.asList(1, -2.5, 12345678901L, 100.0, true, null), numbers);
+        Assertions.assertEquals(0, provider.length(provider.getMapValue(document, "empty")));
+        provider.setArrayIndex(numbers, 0, "x");
+        provider.setProperty(document, "added", 7);
+        Assertions.assertEquals("{\"text\":\"a\\\"bA\",\"numbers\":[\"x\",-2.5,12345678901,100.0,true,null],\"empty\":{},\"added\":7}",
+                provider.toJson(document));
+        Assertions.assertThrows(InvalidJsonException.class, () -> provider.parse("[1, 2"));
+        Assertions.assertThrows(InvalidJsonException.class, () -> provider.parse("{\"a\": tru}"));
+    }
+
+    @Test
+    void customerTestWithConfigurationOptions() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField("$.customer.unknown", Customer::setSurname)
+                .configuration(Configuration.defaultConfiguration().addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL))
+                .build();
+
+        Customer cust = mapper.mapStreaming(JSON);
+
+        Assertions.assertEquals(EXPECTED_NAME, cust.getName());
+        Assertions.assertNull(cust.getSurname());
+    }
+
+    @Test
+    void customerLazyTest() {
+        Customer expected = new Customer();
+        expected.setName(EXPECTED_NAME);
+        expected.setSurname(EXPECTED_SURNAME);
+        expected.setAge(EXPECTED_AGE);
+        expected.setCreated(EXPECTED_CREATED_DATE);
+        expected.setPhones(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2));
+
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(CUSTOMER_SURNAME_PATH, Customer::setSurname)
+                .mapField(FieldMapper.<Customer>fromIntPath(CUSTOMER_AGE_PATH).toIntField(Customer::setAge).withIntValidator(val -> val > 0))
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .mapOptionalField("$.customer.unknown[*].number", Customer::setPhones)
+                .build();
+
+        Assertions.assertEquals(expected, mapper.mapLazy(JSON));
+        Assertions.assertThrows(JsonParseException.class, () -> mapper.mapLazy("{\"customer\": {\"name\": \"Jan\"}"));
+    }
+
+    @Test
+    void lazyTestWithManyFields() {
+        StringBuilder json = new StringBuilder("{\"values\": {\"e\\u0073caped\": 100, \"list\": [[1], [2, {\"x\": 3}]], \"v0\": 1");
+        for (int i = 0; i < 50; ++i) {
+            json.append(", \"v").append(i).append("\": ").append(i);
+        }
+        json.append("}}");
+
+        List<FieldMapper<List<Object>, ?, ?>> fieldMappers = new ArrayList<>();
+        for (int i = 0; i < 50; i += 5) {
+            fieldMappers.add(FieldMapper.fromPath("$.values.v" + i).toGetterField(List::add));
+        }
+        fieldMappers.add(FieldMapper.fromPath("$.values.escaped").toGetterField(List::add));
+        fieldMappers.add(FieldMapper.fromPath("$.values.list[1][1].x").toGetterField(List::add));
+        fieldMappers.add(FieldMapper.fromPath("$.values.list[2]").optional().toGetterField(List::add));
+        JsonPathMapper<List<Object>> mapper = new JsonPathMapper<>(ArrayList::new, fieldMappers);
+
+        Assertions.assertEquals(Arrays.asList(0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 100, 3), mapper.mapLazy(json.toString()));
+        Assertions.assertEquals(mapper.map(json.toString()), mapper.mapLazy(json.toString()));
+    }
+
+    @Test
+    void customerGeneratedConstructorMapperTest() {
+        Customer5 expected = new Customer5(EXPECTED_NAME, EXPECTED_SURNAME, EXPECTED_AGE, Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2), null);
+
+        JsonPathMapper<Customer5> mapper = Customer5JsonPathMapper.create();
+
+        Assertions.assertTrue(mapper.isGenerated());
+        Assertions.assertEquals(expected, mapper.map(JSON));
+        Assertions.assertEquals(expected, mapper.mapLazy(JSON));
+        Assertions.assertEquals(expected, mapper.mapStreaming(JSON));
+        Assertions.assertEquals(expected, mapper.parallelMap(JSON));
+        Assertions.assertEquals(expected, mapper.mapValidated(JSON).getValue());
+        Assertions.assertEquals("Janek", mapper.map(JSON.replace("\"name\"", "\"nickname\": \"Janek\", \"name\"")).getNickname());
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.map(JSON.replace("\"" + EXPECTED_SURNAME + "\"", "1")));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.map(JSON.replace(String.valueOf(EXPECTED_AGE), "\"x\"")));
+        Assertions.assertThrows(JsonFieldNotFoundException.class, () -> mapper.map(JSON.replace("phones", "other")));
+    }
+
+    @Test
+    void customerGeneratedFieldMapperTest() {
+        JsonPathMapper<Customer6> mapper = Customer6JsonPathMapper.create();
+
+        Customer6 cust = mapper.map(JSON);
+
+        Assertions.assertEquals(EXPECTED_NAME, cust.getName());
+        Assertions.assertEquals(EXPECTED_AGE, cust.getAge());
+        Assertions.assertEquals("1988-11-20", cust.getCreated());
+        Assertions.assertEquals(0L, cust.getPoints());
+        Assertions.assertTrue(mapper.isGenerated());
+        Assertions.assertEquals(cust, mapper.parallelMap(JSON));
+        Assertions.assertEquals(cust, mapper.mapStreaming(JSON));
+        Assertions.assertEquals(cust, mapper.mapValidated(JSON).getValue());
+        Assertions.assertEquals(7L, mapper.map(JSON.replace("\"name\"", "\"points\": 7, \"name\"")).getPoints());
+        Customer6 target = new Customer6();
+        Assertions.assertSame(target, mapper.mapInto(JSON, target));
+        Assertions.assertEquals(cust, target);
+        Assertions.assertThrows(JsonFieldNotFoundException.class, () -> mapper.map("{\"customer\": {\"name\": \"Jan\"}}"));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.map(JSON.replace("\"" + EXPECTED_NAME + "\"", "1")));
+        String vipJson = JSON.replace("\"name\"", "\"vip\": true, \"name\"");
+        Assertions.assertTrue(mapper.map(vipJson).isVip());
+        Assertions.assertTrue(mapper.parallelMap(vipJson).isVip());
+        String nullVipJson = JSON.replace("\"name\"", "\"vip\": null, \"name\"");
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.map(nullVipJson));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.parallelMap(nullVipJson));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.mapStreaming(nullVipJson));
+    }
+
+    @Test
+    void customerGeneratedInterfaceMapperTest() {
+        JsonPathMapper<Customer8> mapper = Customer8JsonPathMapper.create();
+
+        Customer8 cust = mapper.map(JSON);
+
+        Assertions.assertEquals(EXPECTED_NAME, cust.getName());
+        Assertions.assertEquals(EXPECTED_AGE, cust.getAge());
+        Assertions.assertEquals(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2), cust.getPhones());
+        Assertions.assertFalse(cust.isVip());
+        Assertions.assertEquals(EXPECTED_NAME + " (" + EXPECTED_AGE + ")", cust.getDisplayName());
+        Assertions.assertTrue(mapper.isGenerated());
+        Assertions.assertEquals(cust, mapper.parallelMap(JSON));
+        Assertions.assertEquals(cust, mapper.mapStreaming(JSON));
+        Assertions.assertEquals(cust, mapper.mapValidated(JSON).getValue());
+        Assertions.assertTrue(mapper.map(JSON.replace("\"name\"", "\"vip\": true, \"name\"")).isVip());
+        Assertions.assertThrows(JsonFieldNotFoundException.class, () -> mapper.map("{\"customer\": {\"name\": \"Jan\"}}"));
+    }
+
+    @Test
+    void customerTestWithGeneratedMappingWhenFieldHasValidator() {
+        GeneratedMapping<Customer> generatedMapping = new GeneratedMapping<Customer>() {
+            @Override
+            protected Customer map(Customer target, FieldValues values) {
+                target.setName((String) values.get(0));
+                return target;
+            }
+        };
+        JsonPathMapperBuilder<Customer> builder = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath(CUSTOMER_NAME_PATH, String.class).toGetterField(Customer::setName).withValidator(val -> !val.isEmpty()));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.build(generatedMapping));
+    }
+
+    @Test
+    void customerTestWithGeneratedBytecode() {
+        Customer expected = new Customer();
+        expected.setName(EXPECTED_NAME);
+        expected.setSurname(EXPECTED_SURNAME);
+        expected.setAge(EXPECTED_AGE);
+        expected.setCreated(EXPECTED_CREATED_DATE);
+        expected.setPhones(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2));
+
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(FieldMapper.fromPath(CUSTOMER_SURNAME_PATH, String.class).toPrivateField("surname", Customer.class))
+                .mapField(FieldMapper.<Customer>fromIntPath(CUSTOMER_AGE_PATH).toIntField(Customer::setAge).withIntValidator(val -> val > 0))
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .mapOptionalField("$.customer.unknown", Customer::setName)
+                .generateBytecode()
+                .build();
+
+        Assertions.assertTrue(mapper.isGenerated());
+        Assertions.assertEquals(expected, mapper.map(JSON));
+        Assertions.assertEquals(expected, mapper.mapStreaming(JSON));
+        Assertions.assertEquals(expected, mapper.mapLazy(JSON));
+        Assertions.assertEquals(expected, mapper.parallelMap(JSON));
+    }
+
+    @Test
+    void customerTestWithGeneratedBytecodeWhenFieldsAreWrong() {
+        JsonPathMapper<Customer> validatedMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath(CUSTOMER_NAME_PATH, String.class).toGetterField(Customer::setName).withValidator(val -> val.length() > 5))
+                .generateBytecode()
+                .build();
+        JsonPathMapper<Customer> castMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_AGE_PATH, Customer::setName)
+                .generateBytecode()
+                .build();
+        JsonPathMapper<Customer> requiredMapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField("$.customer.unknown[*].number", Customer::setPhones)
+                .mapField("$.customer.unknown", Customer::setName)
+                .generateBytecode()
+                .build();
+
+        Assertions.assertTrue(validatedMapper.isGenerated());
+        Assertions.assertTrue(castMapper.isGenerated());
+        Assertions.assertTrue(requiredMapper.isGenerated());
+        Assertions.assertThrows(JsonFieldValidatorException.class, () -> validatedMapper.map(JSON));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> castMapper.map(JSON));
+        Assertions.assertThrows(JsonFieldNotFoundException.class, () -> requiredMapper.map(JSON));
+    }
+
+    @Test
+    void manyFieldsTestWithGeneratedBytecode() {
+        int fields = 3 * CompiledFieldsGenerator.CHUNK_SIZE + 1;
+        String json = IntStream.rangeClosed(1, fields)
+                .mapToObj(i -> "\"i" + i + "\": " + i)
+                .collect(Collectors.joining(", ", "{", "}"));
+        JsonPathMapperBuilder<AtomicLong> builder = JsonPathMapper.forClass(AtomicLong.class)
+                .initialize(AtomicLong::new)
+                .generateBytecode();
+        for (int i = 1; i <= fields; ++i) {
+            builder.mapField(FieldMapper.fromPath("$.i" + i, Integer.class).toGetterField(AtomicLong::addAndGet).withValidator(val -> val > 0).withMapper(Integer::longValue));
+        }
+        builder.mapField(FieldMapper.<AtomicLong>fromIntPath("$.i" + fields).toIntField(AtomicLong::addAndGet));
+        JsonPathMapper<Long> mapper = builder.buildWithResultMapper(AtomicLong::get);
+
+        Assertions.assertTrue(mapper.isGenerated());
+        Assertions.assertEquals(Long.valueOf((long) fields * (fields + 1) / 2 + fields), mapper.map(json));
+        Assertions.assertThrows(JsonFieldValidatorException.class, () -> mapper.map(json.replace("\"i" + fields + "\": " + fields, "\"i" + fields + "\": -1")));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.map(json.replace("\"i" + fields + "\": " + fields, "\"i" + fields + "\": \"a\"")));
+    }
+
+    @Test
+    void customerTestWithMetrics() {
+        MetricsCollector metrics = new MetricsCollector();
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath(CUSTOMER_NAME_PATH, String.class).toGetterField(Customer::setName).withValidator(val -> val.length() < 5))
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .mapOptionalField("$.customer.nickname", Customer::setSurname)
+                .metrics(metrics)
+                .generateBytecode()
+                .build();
+
+        Customer customer = mapper.map(JSON);
+        Assertions.assertThrows(JsonFieldValidatorException.class, () -> mapper.map(JSON.replace(EXPECTED_NAME, "Janusz")));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> mapper.mapStreaming(JSON.replace("\"" + EXPECTED_NAME + "\"", "1")));
+        MetricsSnapshot snapshot = metrics.snapshot();
+
+        Assertions.assertEquals(EXPECTED_NAME, customer.getName());
+        Assertions.assertFalse(mapper.isGenerated());
+        Assertions.assertEquals(3, snapshot.getParse().getCount());
+        Assertions.assertEquals(3, snapshot.getPathsEvaluation().getCount());
+        Assertions.assertEquals(3, snapshot.getField(CUSTOMER_NAME_PATH).getPrepare().getCount());
+        Assertions.assertEquals(0, snapshot.getField(CUSTOMER_NAME_PATH).getRead().getCount());
+        Assertions.assertEquals(1, snapshot.getField(CUSTOMER_NAME_PATH).getValidationFailures());
+        Assertions.assertEquals(1, snapshot.getField(CUSTOMER_NAME_PATH).getCastFailures());
+        Assertions.assertEquals(1, snapshot.getField(CUSTOMER_PHONES_PATH).getRead().getCount());
+        Assertions.assertEquals(1, snapshot.getField("$.customer.nickname").getMissing());
+        Assertions.assertThrows(IllegalStateException.class, () -> JsonPathMapper.forClass(Customer.class).metrics(metrics).build());
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.snapshot().getParse().getCount());
+    }
+
+    @Test
+    void customerValidatedTestWithMetrics() {
+        MetricsCollector metrics = new MetricsCollector();
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField("$.customer.unknown", Customer::setSurname)
+                .metrics(metrics)
+                .build();
+
+        ValidationResult<Customer> result = mapper.mapValidated(JSON);
+        MetricsSnapshot.Field unknown = metrics.snapshot().getField("$.customer.unknown");
+
+        Assertions.assertFalse(result.isValid());
+        Assertions.assertEquals(1, unknown.getMissing());
+        Assertions.assertEquals(1, unknown.getFailures(FieldError.Kind.NOT_FOUND));
+        Assertions.assertEquals(0, metrics.snapshot().getField(CUSTOMER_NAME_PATH).getFailures(FieldError.Kind.NOT_FOUND));
+    }
+
+    @Test
+    void customerTestWithResultCache() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .cacheResults(10, customer -> {
+                    Customer copy = new Customer();
+                    copy.setName(customer.getName());
+                    copy.setPhones(new ArrayList<>(customer.getPhones()));
+                    return copy;
+                })
+                .build();
+
+        Customer customer = mapper.map(JSON);
+        customer.getPhones().clear();
+        Customer cachedCustomer = mapper.map(new String(JSON.toCharArray()));
+        Customer bytesCustomer = mapper.map(JSON.getBytes(StandardCharsets.UTF_8));
+        Customer cachedBytesCustomer = mapper.map(ByteBuffer.wrap(JSON.getBytes(StandardCharsets.UTF_8)));
+        CacheStats stats = mapper.cacheStats();
+
+        Assertions.assertEquals(EXPECTED_NAME, cachedCustomer.getName());
+        Assertions.assertEquals(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2), cachedCustomer.getPhones());
+        Assertions.assertEquals(cachedCustomer, bytesCustomer);
+        Assertions.assertEquals(cachedCustomer, cachedBytesCustomer);
+        Assertions.assertNotSame(bytesCustomer, cachedBytesCustomer);
+        Assertions.assertEquals(2, stats.getHits());
+        Assertions.assertEquals(2, stats.getMisses());
+        Assertions.assertEquals(2, stats.getSize());
+        Assertions.assertEquals(JSON.length() + JSON.getBytes(StandardCharsets.UTF_8).length, stats.getWeight());
+    }
+
+    @Test
+    void customerTestWithResultCacheWhenBytesAreReused() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .cacheResults(10, UnaryOperator.identity())
+                .build();
+        String otherName = new StringBuilder(EXPECTED_NAME).reverse().toString();
+        byte[] buffer = JSON.getBytes(StandardCharsets.UTF_8);
+        byte[] otherJson = JSON.replace(EXPECTED_NAME, otherName).getBytes(StandardCharsets.UTF_8);
+
+        mapper.map(buffer);
+        System.arraycopy(otherJson, 0, buffer, 0, buffer.length);
+
+        Assertions.assertEquals(otherName, mapper.map(buffer).getName());
+        Assertions.assertEquals(EXPECTED_NAME, mapper.map(JSON.getBytes(StandardCharsets.UTF_8)).getName());
+        Assertions.assertEquals(1, mapper.cacheStats().getHits());
+    }
+
+    @Test
+    void customerTestWithBoundedResultCache() {
+        JsonPathMapperBuilder<Customer> builder = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName);
+        JsonPathMapper<Customer> sizeBoundedMapper = builder.cacheResults(1, UnaryOperator.identity()).build();
+        JsonPathMapper<Customer> weightBoundedMapper = builder.cacheResults(10, JSON.length() - 1, UnaryOperator.identity()).build();
+
+        sizeBoundedMapper.map(JSON);
+        sizeBoundedMapper.map(JSON.replace(EXPECTED_NAME, "Janusz"));
+        Customer customer = sizeBoundedMapper.map(JSON);
+        weightBoundedMapper.map(JSON);
+        weightBoundedMapper.map(JSON);
+
+        Assertions.assertEquals(EXPECTED_NAME, customer.getName());
+        Assertions.assertEquals(0, sizeBoundedMapper.cacheStats().getHits());
+        Assertions.assertEquals(2, sizeBoundedMapper.cacheStats().getEvictions());
+        Assertions.assertEquals(1, sizeBoundedMapper.cacheStats().getSize());
+        Assertions.assertEquals(0, weightBoundedMapper.cacheStats().getHits());
+        Assertions.assertEquals(0, weightBoundedMapper.cacheStats().getSize());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.cacheResults(0, UnaryOperator.identity()));
+    }
+
+    @Test
+    void customerTestWithNestedMappers() {
+        JsonPathMapper<Phone> phoneMapper = JsonPathMapper.forClass(Phone.class)
+                .initialize(Phone::new)
+                .mapField("$.number", Phone::setNumber)
+                .mapField("$.description", Phone::setDescription)
+                .build();
+        JsonPathMapper<Customer7> mapper = JsonPathMapper.forClass(Customer7.class)
+                .initialize(Customer7::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer7::setName)
+                .mapField(FieldMapper.fromPath("$.customer.phones[0]").toGetterField(Customer7::setHomePhone).withNestedMapper(phoneMapper))
+                .mapField(FieldMapper.fromPath("$.customer.phones").toGetterField(Customer7::setPhones).withNestedListMapper(phoneMapper))
+                .build();
+        JsonPathMapper<Customer7> wildcardMapper = JsonPathMapper.forClass(Customer7.class)
+                .initialize(Customer7::new)
+                .mapField(FieldMapper.fromPath("$.customer.phones[?(@.description == 'work')]").toGetterField(Customer7::setPhones).withNestedListMapper(phoneMapper))
+                .build();
+
+        Customer7 customer = mapper.map(JSON);
+        Customer7 streamedCustomer = mapper.mapStreaming(JSON);
+        Customer7 lazyCustomer = mapper.mapLazy(JSON);
+        Customer7 workCustomer = wildcardMapper.map(JSON);
+
+        Assertions.assertEquals(EXPECTED_NAME, customer.getName());
+        Assertions.assertEquals(EXPECTED_PHONE_1, customer.getHomePhone().getNumber());
+        Assertions.assertEquals("home", customer.getHomePhone().getDescription());
+        Assertions.assertEquals(2, customer.getPhones().size());
+        Assertions.assertEquals(customer.getHomePhone(), customer.getPhones().get(0));
+        Assertions.assertEquals(EXPECTED_PHONE_2, customer.getPhones().get(1).getNumber());
+        Assertions.assertEquals(customer.getPhones(), streamedCustomer.getPhones());
+        Assertions.assertEquals(customer.getPhones(), lazyCustomer.getPhones());
+        Assertions.assertEquals(Collections.singletonList(customer.getPhones().get(1)), workCustomer.getPhones());
+    }
+
+    @Test
+    void customerTestWithNestedMappersWhenNodeIsWrong() {
+        JsonPathMapper<Phone> phoneMapper = JsonPathMapper.forClass(Phone.class)
+                .initialize(Phone::new)
+                .mapField("$.number", Phone::setNumber)
+                .build();
+        JsonPathMapper<Customer7> objectMapper = JsonPathMapper.forClass(Customer7.class)
+                .initialize(Customer7::new)
+                .mapField(FieldMapper.fromPath(CUSTOMER_NAME_PATH).toGetterField(Customer7::setHomePhone).withNestedMapper(phoneMapper))
+                .build();
+        JsonPathMapper<Customer7> listMapper = JsonPathMapper.forClass(Customer7.class)
+                .initialize(Customer7::new)
+                .mapField(FieldMapper.fromPath("$.customer").toGetterField(Customer7::setPhones).withNestedListMapper(phoneMapper))
+                .build();
+
+        Assertions.assertThrows(JsonFieldCastException.class, () -> objectMapper.map(JSON));
+        Assertions.assertThrows(JsonFieldCastException.class, () -> listMapper.map(JSON));
+        Assertions.assertEquals(FieldError.Kind.WRONG_TYPE, listMapper.mapValidated(JSON).getErrors().get(0).getKind());
+    }
+
+    @Test
+    void customerTestWithSharedReads() {
+        MetricsCollector metrics = new MetricsCollector();
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField(CUSTOMER_CREATED_PATH, Customer::setSurname)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .mapField(FieldMapper.fromPath(CUSTOMER_PHONES_PATH, List.class).toGetterField(Customer::setAge).withMapper(List::size))
+                .metrics(metrics)
+                .build();
+
+        Customer customer = mapper.map(JSON);
+        ReadPlan readPlan = mapper.readPlan();
+        MetricsSnapshot snapshot = metrics.snapshot();
+
+        Assertions.assertEquals(EXPECTED_CREATED_DATE, customer.getCreated());
+        Assertions.assertEquals(EXPECTED_CREATED_DATE.toString(), customer.getSurname());
+        Assertions.assertEquals(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2), customer.getPhones());
+        Assertions.assertEquals(2, customer.getAge());
+        Assertions.assertEquals(5, readPlan.getFields());
+        Assertions.assertEquals(Arrays.asList(CUSTOMER_CREATED_PATH, CUSTOMER_NAME_PATH), readPlan.getDefinitePaths());
+        Assertions.assertEquals(Collections.singletonList(CUSTOMER_PHONES_PATH), readPlan.getJsonPathReads());
+        Assertions.assertEquals(2, readPlan.getSharedReads());
+        Assertions.assertEquals(6, readPlan.getSharedSegments());
+        Assertions.assertEquals(1, snapshot.getFields().get(3).getRead().getCount());
+        Assertions.assertEquals(0, snapshot.getFields().get(4).getRead().getCount());
+        Assertions.assertEquals(customer, mapper.mapAsync(JSON).join());
+        Assertions.assertEquals(customer, mapper.mapValidated(JSON).getValue());
+    }
+
+    @Test
+    void customerMapIntoTest() {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapOptionalField("$.customer.nickname", Customer::setSurname)
+                .build();
+        JsonPathMapper<Customer3> resultMapper = JsonPathMapper.forClass(Customer3.Customer3Builder.class)
+                .initialize(Customer3::builder)
+                .mapField(CUSTOMER_NAME_PATH, Customer3.Customer3Builder::name)
+                .buildWithResultMapper(Customer3.Customer3Builder::build);
+        Customer target = new Customer();
+        target.setSurname(EXPECTED_SURNAME);
+
+        Customer customer = mapper.mapInto(JSON, target);
+
+        Assertions.assertSame(target, customer);
+        Assertions.assertEquals(EXPECTED_NAME, customer.getName());
+        Assertions.assertEquals(EXPECTED_SURNAME, customer.getSurname());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> resultMapper.mapInto(JSON, Customer3.builder().build()));
+    }
+
+    @Test
+    void customerTestWithReusedTargets() throws Exception {
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(CUSTOMER_NAME_PATH, Customer::setName)
+                .mapOptionalField("$.customer.nickname", Customer::setSurname)
+                .reuseTargets(customer -> customer.setSurname(null))
+                .build();
+
+        Customer customer = mapper.map(JSON.replace("\"name\"", "\"nickname\": \"Janek\", \"name\""));
+        Assertions.assertEquals("Janek", customer.getSurname());
+        Customer reusedCustomer = mapper.map(JSON);
+        Customer lazyCustomer = mapper.mapLazy(JSON);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Customer otherThreadCustomer = executor.submit(() -> mapper.map(JSON)).get();
+        executor.shutdown();
+        Customer asyncCustomer = mapper.mapAsync(JSON).join();
+
+        Assertions.assertSame(customer, reusedCustomer);
+        Assertions.assertSame(customer, lazyCustomer);
+        Assertions.assertNull(reusedCustomer.getSurname());
+        Assertions.assertEquals(EXPECTED_NAME, reusedCustomer.getName());
+        Assertions.assertNotSame(customer, otherThreadCustomer);
+        Assertions.assertNotSame(customer, asyncCustomer);
+        Assertions.assertEquals(reusedCustomer, otherThreadCustomer);
+    }
+
+    @Test
+    void customerParallelTestWithVirtualThreads() {
+        Set<Boolean> virtualMappers = ConcurrentHashMap.newKeySet();
+        JsonPathMapper<Customer> mapper = JsonPathMapper.forClass(Customer.class)
+                .initialize(Customer::new)
+                .mapField(FieldMapper.fromPath(CUSTOMER_NAME_PATH, String.class).toGetterField(Customer::setName).withMapper(val -> blockingMapper(val, virtualMappers)))
+                .mapField(FieldMapper.fromPath(CUSTOMER_SURNAME_PATH, String.class).toGetterField(Customer::setSurname).withMapper(val -> blockingMapper(val, virtualMappers)))
+                .mapField(FieldMapper.fromPath(CUSTOMER_AGE_PATH, Integer.class).toGetterField(Customer::setAge).withMapper(val -> blockingMapper(val, virtualMappers)))
+                .mapField(FieldMapper.fromPath(CUSTOMER_CREATED_PATH, String.class).toGetterField(Customer::setCreated).withMapper(LocalDate::parse))
+                .mapField(CUSTOMER_PHONES_PATH, Customer::setPhones)
+                .virtualThreads()
+                .build();
+
+        Customer customer = mapper.parallelMap(JSON);
+
+        Assertions.assertEquals(EXPECTED_NAME, customer.getName());
+        Assertions.assertEquals(EXPECTED_SURNAME, customer.getSurname());
+        Assertions.assertEquals(EXPECTED_AGE, customer.getAge());
+        Assertions.assertEquals(EXPECTED_CREATED_DATE, customer.getCreated());
+        Assertions.assertEquals(Arrays.asList(EXPECTED_PHONE_1, EXPECTED_PHONE_2), customer.getPhones());
+        Assertions.assertEquals(VirtualThreads.executor() != null, virtualMappers.contains(true));
+    }
+
+    private static <V> V blockingMapper(V val, Set<Boolean> virtualMappers) {
+        virtualMappers.add(VirtualThreads.isVirtual(Thread.currentThread()));
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return val;
+    }
 }
@@ -0,0 +1,33 @@
+package pl.dmarciniak.jsonpathmapper.test.data;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import pl.dmarciniak.jsonpathmapper.annotation.JsonPathMapping;
+import pl.dmarciniak.jsonpathmapper.annotation.Path;
+
+import java.util.List;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@JsonPathMapping
+public class Customer5 {
+    private final String name;
+    private final String surname;
+    private final int age;
+    private final List<String> phones;
+    private final String nickname;
+
+    public Customer5(@Path("$.customer.name") String name,
+                     @Path("$.customer.surname") String surname,
+                     @Path("$.customer.age") int age,
+                     @Path("$.customer.phones[*].number") List<String> phones,
+                     @Path(value = "$.customer.nickname", optional = true) String nickname) {
+        this.name = name;
+        this.surname = surname;
+        this.age = age;
+        this.phones = phones;
+        this.nickname = nickname;
+    }
+}
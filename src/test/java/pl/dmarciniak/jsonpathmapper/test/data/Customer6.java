@@ -0,0 +1,28 @@
+package pl.dmarciniak.jsonpathmapper.test.data;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import pl.dmarciniak.jsonpathmapper.annotation.JsonPathMapping;
+import pl.dmarciniak.jsonpathmapper.annotation.Path;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@JsonPathMapping
+public class Customer6 {
+    @Path("$.customer.name")
+    String name;
+    @Path("$.customer.age")
+    int age;
+    @Path("$.customer.accountCreated")
+    private String created;
+    @Path(value = "$.customer.points", optional = true)
+    long points;
+    @Path(value = "$.customer.vip", optional = true)
+    boolean vip;
+
+    public void setCreated(String created) {
+        this.created = created;
+    }
+}
@@ -0,0 +1,12 @@
+package pl.dmarciniak.jsonpathmapper.test.data;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class Customer7 {
+    private String name;
+    private Phone homePhone;
+    private List<Phone> phones;
+}
@@ -0,0 +1,26 @@
+package pl.dmarciniak.jsonpathmapper.test.data;
+
+import pl.dmarciniak.jsonpathmapper.annotation.JsonPathMapping;
+import pl.dmarciniak.jsonpathmapper.annotation.Path;
+
+import java.util.List;
+
+@JsonPathMapping
+public interface Customer8 {
+
+    @Path("$.customer.name")
+    String getName();
+
+    @Path("$.customer.age")
+    int getAge();
+
+    @Path("$.customer.phones[*].number")
+    List<String> getPhones();
+
+    @Path(value = "$.customer.vip", optional = true)
+    boolean isVip();
+
+    default String getDisplayName() {
+        return getName() + " (" + getAge() + ")";
+    }
+}
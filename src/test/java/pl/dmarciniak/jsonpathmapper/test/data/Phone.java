@@ -0,0 +1,9 @@
+package pl.dmarciniak.jsonpathmapper.test.data;
+
+import lombok.Data;
+
+@Data
+public class Phone {
+    private String number;
+    private String description;
+}